@@ -0,0 +1,31 @@
+package com.ejada.accounts.Config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaConfig {
+
+    // Account changes published by accounts and transactions, keyed by account ID
+    @Bean
+    public NewTopic accountEventsTopic()
+    {
+        return TopicBuilder.name("AccountEvents")
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
+    // Outcomes of TransferCommands, keyed by transaction ID
+    @Bean
+    public NewTopic transferResultsTopic()
+    {
+        return TopicBuilder.name("TransferResults")
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
+}
@@ -1,22 +1,72 @@
 package com.ejada.accounts.Config;
 
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.WebClient;
+import com.ejada.logging.producer.CorrelationIdFilter;
+
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class WebClientConfig {
 
+    // Path segments that are IDs are collapsed so per-URI latency metrics keep a bounded number of tags
+    private static final Pattern UUID_SEGMENT = Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    @Value("${services.transaction.base-url}")
+    private String transactionServiceUrl;
+
+    @Autowired
+    private Environment environment;
+
     @Bean
     public WebClient webClientTransactions()
     {
+        // Pool, timeouts and buffer limits come from http.client.*, each overridable with services.transaction.http.*
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("transaction-service")
+        .maxConnections(setting("max-connections", Integer.class, 100))
+        .pendingAcquireMaxCount(setting("pending-acquire-max-count", Integer.class, 500))
+        .pendingAcquireTimeout(setting("pending-acquire-timeout", Duration.class, Duration.ofSeconds(5)))
+        .maxIdleTime(setting("max-idle-time", Duration.class, Duration.ofSeconds(30)))
+        .maxLifeTime(setting("max-life-time", Duration.class, Duration.ofMinutes(5)))
+        .evictInBackground(Duration.ofSeconds(30))
+        .metrics(true)
+        .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) setting("connect-timeout", Duration.class, Duration.ofSeconds(2)).toMillis())
+        .responseTimeout(setting("response-timeout", Duration.class, Duration.ofSeconds(5)))
+        .keepAlive(true)
+        .metrics(true, uri -> UUID_SEGMENT.matcher(uri).replaceAll("{id}"));
+
+        int maxInMemorySize = (int) setting("max-in-memory-size", DataSize.class, DataSize.ofMegabytes(2)).toBytes();
+
         return WebClient.builder()
-        .baseUrl("http://localhost:8083/transactions")
+        .baseUrl(transactionServiceUrl)
         .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .clientConnector(new ReactorClientHttpConnector(httpClient))
+        .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxInMemorySize))
+        .filter(CorrelationIdFilter.propagation())
         .build();
-    } 
+    }
+
+    private <T> T setting(String name, Class<T> type, T defaultValue)
+    {
+        T fallback = environment.getProperty("http.client." + name, type, defaultValue);
+        return environment.getProperty("services.transaction.http." + name, type, fallback);
+    }
 
 }
@@ -1,7 +1,11 @@
 package com.ejada.accounts.Repos;
+import java.math.BigDecimal;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.ejada.accounts.Models.AccountModel;
@@ -17,4 +21,15 @@ public interface AccountRepo extends JpaRepository<AccountModel, UUID> {
     List<AccountModel> findByUserId(UUID user_id);
     List<AccountModel> findByStatus(AccountStatus status);
 
+    // Debits only if the balance covers the amount; returns 0 when it does not or the account does not exist
+    @Modifying
+    @Query("UPDATE AccountModel a SET a.balance = a.balance - :amount, a.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE a.id = :id AND a.balance >= :amount")
+    int debit(@Param("id") UUID id, @Param("amount") BigDecimal amount);
+
+    // Returns 0 when the account does not exist
+    @Modifying
+    @Query("UPDATE AccountModel a SET a.balance = a.balance + :amount, a.updatedAt = CURRENT_TIMESTAMP WHERE a.id = :id")
+    int credit(@Param("id") UUID id, @Param("amount") BigDecimal amount);
+
 }
@@ -0,0 +1,13 @@
+package com.ejada.accounts.Repos;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.ejada.accounts.Models.ProcessedTransferModel;
+
+@Repository
+public interface ProcessedTransferRepo extends JpaRepository<ProcessedTransferModel, UUID> {
+
+}
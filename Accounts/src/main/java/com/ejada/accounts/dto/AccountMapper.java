@@ -4,6 +4,7 @@ import com.ejada.accounts.Models.AccountModel;
 import com.ejada.accounts.Models.AccountType;
 import com.ejada.accounts.Models.AccountStatus;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -31,9 +32,9 @@ public class AccountMapper {
                 throw new IllegalArgumentException("Account number cannot be null or empty");
             }
             
-            Double balance = account.getBalance();
+            BigDecimal balance = account.getBalance();
             if (balance == null) {
-                balance = 0.0; // Default to 0 if null
+                balance = BigDecimal.ZERO; // Default to 0 if null
             }
             
             return new AccountResponse(
@@ -85,7 +86,7 @@ public class AccountMapper {
         }
     }
     
-    public static TransferResponse toTransferResponse(String message, UUID fromAccountId, UUID toAccountId, Double amount) {
+    public static TransferResponse toTransferResponse(String message, UUID fromAccountId, UUID toAccountId, BigDecimal amount) {
         try {
             // Validate input parameters
             if (message == null || message.trim().isEmpty()) {
@@ -100,7 +101,7 @@ public class AccountMapper {
                 System.err.println("Warning: To Account ID is null in transfer response");
             }
             
-            if (amount == null || amount <= 0) {
+            if (amount == null || amount.signum() <= 0) {
                 System.err.println("Warning: Transfer amount is invalid: " + amount);
                 message = "Transfer failed due to invalid amount";
             }
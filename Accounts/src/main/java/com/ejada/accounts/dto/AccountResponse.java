@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 
 @Data
@@ -15,6 +16,6 @@ public class AccountResponse {
     private UUID accountId;
     private String accountNumber;
     private AccountType accountType;
-    private Double balance;
+    private BigDecimal balance;
     private AccountStatus status;
 }
@@ -1,11 +1,13 @@
 package com.ejada.accounts.dto;
 
 import com.ejada.accounts.Models.AccountType;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 
 @Data
@@ -16,5 +18,6 @@ public class CreateAccountRequest {
     private UUID userId;
     @NotNull
     private AccountType accountType;
-    private Double initialBalance = 0.00;
+    @Digits(integer = 15, fraction = 4)
+    private BigDecimal initialBalance = BigDecimal.ZERO;
 }
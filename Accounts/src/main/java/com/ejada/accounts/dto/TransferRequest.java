@@ -1,11 +1,13 @@
 package com.ejada.accounts.dto;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 
 @Data
@@ -18,5 +20,12 @@ public class TransferRequest {
     private UUID toAccountId;
     @NotNull
     @Positive
-    private Double amount;
+    @Digits(integer = 15, fraction = 4)
+    private BigDecimal amount;
+    // Optional: the transactions service sends its transaction ID so a retried transfer is applied once
+    private UUID transactionId;
+
+    public TransferRequest(UUID fromAccountId, UUID toAccountId, BigDecimal amount) {
+        this(fromAccountId, toAccountId, amount, null);
+    }
 }
@@ -1,8 +1,7 @@
 package com.ejada.accounts.exception;
 
-import com.ejada.accounts.Services.KafkaProducerService;
 import com.ejada.accounts.dto.ErrorResponse;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -14,9 +13,6 @@ import java.util.stream.Collectors;
 @ControllerAdvice
 public class GlobalExceptionHandler {
     
-    @Autowired
-    private KafkaProducerService kafkaProducerService;
-
     @ExceptionHandler(AccountNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleAccountNotFound(AccountNotFoundException ex) {
         ErrorResponse error = new ErrorResponse(
@@ -24,7 +20,6 @@ public class GlobalExceptionHandler {
             "Not Found",
             ex.getMessage()
         );
-        kafkaProducerService.sendMessage(error, "Response");
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
@@ -35,7 +30,6 @@ public class GlobalExceptionHandler {
             "Bad Request",
             ex.getMessage()
         );
-        kafkaProducerService.sendMessage(error, "Response");
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
@@ -46,7 +40,6 @@ public class GlobalExceptionHandler {
             "Bad Request",
             "Invalid account type or initial balance."
         );
-        kafkaProducerService.sendMessage(error, "Response");
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
@@ -57,10 +50,19 @@ public class GlobalExceptionHandler {
             "Bad Request",
             ex.getMessage()
         );
-        kafkaProducerService.sendMessage(error, "Response");
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleAccountLocked(PessimisticLockingFailureException ex) {
+        ErrorResponse error = new ErrorResponse(
+            409,
+            "Conflict",
+            "Account is busy with another transfer, please retry."
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
         String errors = ex.getBindingResult()
@@ -74,7 +76,6 @@ public class GlobalExceptionHandler {
             "Bad Request",
             "Invalid account type or initial balance. " + errors
         );
-        kafkaProducerService.sendMessage(error, "Response");
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
@@ -85,7 +86,6 @@ public class GlobalExceptionHandler {
             "Bad Request",
             ex.getMessage()
         );
-        kafkaProducerService.sendMessage(error, "Response");
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
@@ -96,7 +96,6 @@ public class GlobalExceptionHandler {
             "Internal Server Error",
             "An unexpected error occurred: " + ex.getMessage()
         );
-        kafkaProducerService.sendMessage(error, "Response");
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 }
@@ -1,18 +1,18 @@
 package com.ejada.accounts.Models;
 
+import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.util.UUID;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.UuidGenerator;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
@@ -30,7 +30,7 @@ import lombok.Setter;
 public class AccountModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(name = "id")
     @NotNull
     private UUID id;
@@ -44,10 +44,13 @@ public class AccountModel {
     @NotNull
     @Enumerated(EnumType.STRING)
     private AccountType accountType;
-    @Column(name = "balance")
+    // Money is exact: DECIMAL(19,4), never a binary floating point. Every service carries it as
+    // BigDecimal and writes it to JSON as plain digits, never in exponent notation
+    // (spring.jackson.generator.write-bigdecimal-as-plain).
+    @Column(name = "balance", precision = 19, scale = 4)
     @ColumnDefault("0.00")
     @NotNull
-    private Double balance = 0.00;
+    private BigDecimal balance = BigDecimal.ZERO;
     @Column(name = "status")
     @Enumerated(EnumType.STRING)
     @ColumnDefault("'ACTIVE'")
@@ -0,0 +1,58 @@
+package com.ejada.accounts.Models;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Inbox of applied transfer commands, keyed by the transactions service's transaction ID.
+ * The row is written in the same database transaction as the balance changes, so a
+ * redelivered command is recognised and never applied twice.
+ */
+@Entity
+@Table(name = "processed_transfers")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProcessedTransferModel implements Persistable<UUID> {
+
+    @Id
+    @Column(name = "transaction_id")
+    @NotNull
+    private UUID transactionId;
+    @Column(name = "status")
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private TransferStatus status;
+    @Column(name = "message")
+    private String message;
+    @Column(name = "processed_at")
+    @CreationTimestamp
+    private Timestamp processedAt;
+
+    @Override
+    public UUID getId() {
+        return transactionId;
+    }
+
+    // Always inserted, never merged: a second insert for the same transaction must fail
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,7 @@
+package com.ejada.accounts.Models;
+
+// Outcome of a transfer command, named like the transactions service's TransactionStatus
+public enum TransferStatus {
+    SUCCESS,
+    FAILED
+}
@@ -4,6 +4,7 @@ import java.sql.Timestamp;
 import java.util.List;
 import java.util.UUID;
 import com.ejada.accounts.Models.AccountModel;
+import com.ejada.accounts.Models.ProcessedTransferModel;
 import com.ejada.accounts.dto.CreateAccountRequest;
 import com.ejada.accounts.dto.CreateAccountResponse;
 import com.ejada.accounts.dto.TransferRequest;
@@ -27,5 +28,9 @@ public interface AccountService {
     @Transactional
     TransferResponse transferAmount(TransferRequest request);
 
+    ProcessedTransferModel applyTransferCommand(UUID transactionId, TransferRequest request);
+
+    ProcessedTransferModel recordFailedTransfer(UUID transactionId, String message);
+
     boolean shouldDeactivateAccount(AccountModel account, Timestamp cutoffTime);
 }
\ No newline at end of file
@@ -1,14 +1,18 @@
 package com.ejada.accounts.Services;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ejada.accounts.Models.ProcessedTransferModel;
 
 @Service
 public class KafkaProducerService {
@@ -16,19 +20,41 @@ public class KafkaProducerService {
     @Autowired
     private KafkaTemplate<String, HashMap<String, Object>> kafkaTemplate;
 
-    private HashMap<String, Object> log = new HashMap<>();
+    /**
+     * Publishes an account change to AccountEvents so readers such as the BFF dashboard
+     * cache can drop stale data. Inside a transaction the event is sent after commit.
+     */
+    public void sendAccountEvent(String eventType, Collection<UUID> accountIds, Collection<UUID> userIds) {
+        HashMap<String, Object> event = new HashMap<>();
+        event.put("eventType", eventType);
+        event.put("accountIds", accountIds.stream().map(UUID::toString).toList());
+        event.put("userIds", userIds.stream().map(UUID::toString).toList());
+        event.put("dateTime", Instant.now().toString());
+        String key = accountIds.isEmpty() ? null : accountIds.iterator().next().toString();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    kafkaTemplate.send("AccountEvents", key, event);
+                }
+            });
+        } else {
+            kafkaTemplate.send("AccountEvents", key, event);
+        }
+    }
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    public void sendAccountEvent(String eventType, Collection<UUID> accountIds) {
+        sendAccountEvent(eventType, accountIds, List.of());
+    }
 
-    public void sendMessage(Object message, String messageType) {
-        try {
-            String jsonString = objectMapper.writeValueAsString(message);
-            log.put("message", jsonString);
-            log.put("messageType", messageType);
-            log.put("dateTime", Instant.now().toString());
-            kafkaTemplate.send("Logs", log);
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
-        }
+    // Reports the outcome of a TransferCommands message back to the transactions service
+    public void sendTransferResult(ProcessedTransferModel outcome) {
+        HashMap<String, Object> result = new HashMap<>();
+        result.put("transactionId", outcome.getTransactionId().toString());
+        result.put("status", outcome.getStatus().name());
+        result.put("message", outcome.getMessage());
+        result.put("dateTime", Instant.now().toString());
+        kafkaTemplate.send("TransferResults", outcome.getTransactionId().toString(), result);
     }
 }
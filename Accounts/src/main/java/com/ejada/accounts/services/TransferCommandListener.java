@@ -0,0 +1,68 @@
+package com.ejada.accounts.Services;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import com.ejada.accounts.Models.ProcessedTransferModel;
+import com.ejada.accounts.dto.TransferRequest;
+import com.ejada.accounts.exception.AccountNotFoundException;
+import com.ejada.accounts.exception.InsufficientFundsException;
+import com.ejada.accounts.exception.InvalidTransferException;
+
+@Service
+public class TransferCommandListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferCommandListener.class);
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private KafkaProducerService kafkaProducerService;
+
+    // Transfers submitted by the transactions service, keyed by source account so one
+    // account's transfers are applied in order. Each poll is handled as one batch; an
+    // unexpected error redelivers the batch and the inbox skips what was already applied.
+    @KafkaListener(topics = "TransferCommands", groupId = "accounts-transfer-commands", batch = "true")
+    public void listen(List<HashMap<String, Object>> commands) {
+        for (HashMap<String, Object> command : commands) {
+            UUID transactionId;
+            try {
+                transactionId = UUID.fromString(command.get("transactionId").toString());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                // Nobody can be told about a command without an ID
+                log.error("Dropping transfer command without a valid transactionId: {}", command, e);
+                continue;
+            }
+
+            TransferRequest request;
+            try {
+                request = new TransferRequest(
+                    UUID.fromString(command.get("fromAccountId").toString()),
+                    UUID.fromString(command.get("toAccountId").toString()),
+                    new BigDecimal(command.get("amount").toString()));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                // The sender still learns that its transaction failed
+                kafkaProducerService.sendTransferResult(
+                    accountService.recordFailedTransfer(transactionId, "Malformed transfer command: " + e.getMessage()));
+                continue;
+            }
+
+            ProcessedTransferModel outcome;
+            try {
+                outcome = accountService.applyTransferCommand(transactionId, request);
+            } catch (InsufficientFundsException | AccountNotFoundException | InvalidTransferException e) {
+                outcome = accountService.recordFailedTransfer(transactionId, e.getMessage());
+            }
+            kafkaProducerService.sendTransferResult(outcome);
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.ejada.accounts.Services.impl;
 
+import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,8 +17,12 @@ import org.springframework.web.reactive.function.client.WebClient;
 
 import com.ejada.accounts.Models.AccountModel;
 import com.ejada.accounts.Models.AccountStatus;
+import com.ejada.accounts.Models.ProcessedTransferModel;
+import com.ejada.accounts.Models.TransferStatus;
 import com.ejada.accounts.Repos.AccountRepo;
+import com.ejada.accounts.Repos.ProcessedTransferRepo;
 import com.ejada.accounts.Services.AccountService;
+import com.ejada.accounts.Services.KafkaProducerService;
 import com.ejada.accounts.dto.CreateAccountRequest;
 import com.ejada.accounts.dto.CreateAccountResponse;
 import com.ejada.accounts.dto.TransferRequest;
@@ -38,22 +44,29 @@ public class AccountServiceImpl implements AccountService {
     @Autowired
     private WebClient webClientTransactions;
 
+    @Autowired
+    private KafkaProducerService kafkaProducerService;
+
+    @Autowired
+    private ProcessedTransferRepo processedTransferRepo;
+
     @Override
     public CreateAccountResponse createAccount(CreateAccountRequest request) {
         if (request.getUserId() == null || request.getAccountType() == null) {
             throw new InvalidAccountDataException("User ID and account type are required");
         }
         
-        if (request.getInitialBalance() != null && request.getInitialBalance() < 0) {
+        if (request.getInitialBalance() != null && request.getInitialBalance().signum() < 0) {
             throw new InvalidAccountDataException("Initial balance cannot be negative");
         }
         
         AccountModel account = new AccountModel();
         account.setUserId(request.getUserId());
         account.setAccountType(request.getAccountType());
-        account.setBalance(request.getInitialBalance() != null ? request.getInitialBalance() : 0.00);
+        account.setBalance(request.getInitialBalance() != null ? request.getInitialBalance() : BigDecimal.ZERO);
         
         AccountModel savedAccount = accountRepo.save(account);
+        kafkaProducerService.sendAccountEvent("ACCOUNT_CREATED", List.of(savedAccount.getId()), List.of(savedAccount.getUserId()));
         return AccountMapper.toCreateAccountResponse(savedAccount);
     }
 
@@ -77,6 +90,7 @@ public class AccountServiceImpl implements AccountService {
         
         account.setStatus(AccountStatus.INACTIVE);
         accountRepo.save(account);
+        kafkaProducerService.sendAccountEvent("ACCOUNT_DEACTIVATED", List.of(accountId), List.of(account.getUserId()));
     }
 
     @Override
@@ -87,37 +101,83 @@ public class AccountServiceImpl implements AccountService {
     @Override
     @Transactional
     public TransferResponse transferAmount(TransferRequest request) {
+        if (request.getTransactionId() != null) {
+            // A retry of a transfer whose response was lost finds it in the inbox and is not applied again
+            ProcessedTransferModel outcome = applyTransferCommand(request.getTransactionId(), request);
+            if (outcome.getStatus() == TransferStatus.FAILED) {
+                throw new InvalidTransferException(outcome.getMessage());
+            }
+        } else {
+            moveFunds(request);
+        }
+
+        return AccountMapper.toTransferResponse(
+            "Account updated successfully.", 
+            request.getFromAccountId(), 
+            request.getToAccountId(), 
+            request.getAmount()
+        );
+    }
+
+    private void moveFunds(TransferRequest request) {
         if (request.getFromAccountId().equals(request.getToAccountId())) {
             throw new InvalidTransferException("Cannot transfer to the same account");
         }
         
-        if (request.getAmount() <= 0) {
+        if (request.getAmount().signum() <= 0) {
             throw new InvalidTransferException("Transfer amount must be positive");
         }
         
-        AccountModel fromAccount = accountRepo.findById(request.getFromAccountId())
-            .orElseThrow(() -> new AccountNotFoundException("Source account not found with ID: " + request.getFromAccountId()));
-            
-        AccountModel toAccount = accountRepo.findById(request.getToAccountId())
-            .orElseThrow(() -> new AccountNotFoundException("Destination account not found with ID: " + request.getToAccountId()));
+        // One conditional UPDATE per row instead of SELECT + full-entity UPDATE. Rows are
+        // written in ascending ID order so two opposite transfers cannot deadlock; a failed
+        // statement throws and rolls back the other one.
+        UUID fromAccountId = request.getFromAccountId();
+        UUID toAccountId = request.getToAccountId();
+        if (fromAccountId.compareTo(toAccountId) < 0) {
+            debit(fromAccountId, request.getAmount());
+            credit(toAccountId, request.getAmount());
+        } else {
+            credit(toAccountId, request.getAmount());
+            debit(fromAccountId, request.getAmount());
+        }
+        kafkaProducerService.sendAccountEvent("TRANSFER", List.of(fromAccountId, toAccountId));
+    }
 
-        
-        if (fromAccount.getBalance() < request.getAmount()) {
-            throw new InsufficientFundsException("Insufficient funds in the source account. Available: " + fromAccount.getBalance() + ", Required: " + request.getAmount());
+    @Override
+    @Transactional
+    public ProcessedTransferModel applyTransferCommand(UUID transactionId, TransferRequest request) {
+        Optional<ProcessedTransferModel> processed = processedTransferRepo.findById(transactionId);
+        if (processed.isPresent()) {
+            return processed.get();
         }
-        
-        fromAccount.setBalance(fromAccount.getBalance() - request.getAmount());
-        toAccount.setBalance(toAccount.getBalance() + request.getAmount());
-        
-        accountRepo.save(fromAccount);
-        accountRepo.save(toAccount);
+        // Inserted before the balances change, so a concurrent duplicate fails on the primary key and rolls back
+        ProcessedTransferModel outcome = processedTransferRepo.saveAndFlush(
+            new ProcessedTransferModel(transactionId, TransferStatus.SUCCESS, "Account updated successfully.", null));
+        moveFunds(request);
+        return outcome;
+    }
 
-        return AccountMapper.toTransferResponse(
-            "Account updated successfully.", 
-            request.getFromAccountId(), 
-            request.getToAccountId(), 
-            request.getAmount()
-        );
+    @Override
+    @Transactional
+    public ProcessedTransferModel recordFailedTransfer(UUID transactionId, String message) {
+        return processedTransferRepo.findById(transactionId)
+            .orElseGet(() -> processedTransferRepo.save(new ProcessedTransferModel(transactionId, TransferStatus.FAILED, message, null)));
+    }
+
+    private void debit(UUID accountId, BigDecimal amount) {
+        if (accountRepo.debit(accountId, amount) == 1) {
+            return;
+        }
+        // Only the failure path reads the row, to report why the debit was refused
+        AccountModel account = accountRepo.findById(accountId)
+            .orElseThrow(() -> new AccountNotFoundException("Source account not found with ID: " + accountId));
+        throw new InsufficientFundsException("Insufficient funds in the source account. Available: " + account.getBalance().toPlainString() + ", Required: " + amount.toPlainString());
+    }
+
+    private void credit(UUID accountId, BigDecimal amount) {
+        if (accountRepo.credit(accountId, amount) != 1) {
+            throw new AccountNotFoundException("Destination account not found with ID: " + accountId);
+        }
     }
 
     @Override
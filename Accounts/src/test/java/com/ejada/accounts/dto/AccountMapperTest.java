@@ -2,6 +2,7 @@ package com.ejada.accounts.dto;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -21,7 +22,7 @@ public class AccountMapperTest {
         account.setId(UUID.randomUUID());
         account.setAccountNumber("ACCT-12345678");
         account.setAccountType(AccountType.CHECKING);
-        account.setBalance(1000.0);
+        account.setBalance(new BigDecimal("1000.0"));
         account.setStatus(AccountStatus.ACTIVE);
 
         // When
@@ -59,7 +60,7 @@ public class AccountMapperTest {
 
         // Then
         assertNotNull(response);
-        assertEquals(0.0, response.getBalance()); // Should default to 0.0
+        assertEquals(BigDecimal.ZERO, response.getBalance()); // Should default to 0
         assertEquals(AccountType.CHECKING, response.getAccountType()); // Should default to CHECKING
         assertEquals(AccountStatus.ACTIVE, response.getStatus()); // Should default to ACTIVE
     }
@@ -119,14 +120,14 @@ public class AccountMapperTest {
         account1.setId(UUID.randomUUID());
         account1.setAccountNumber("ACCT-11111111");
         account1.setAccountType(AccountType.SAVINGS);
-        account1.setBalance(500.0);
+        account1.setBalance(new BigDecimal("500.0"));
         account1.setStatus(AccountStatus.ACTIVE);
 
         AccountModel account2 = new AccountModel();
         account2.setId(UUID.randomUUID());
         account2.setAccountNumber("ACCT-22222222");
         account2.setAccountType(AccountType.CHECKING);
-        account2.setBalance(1500.0);
+        account2.setBalance(new BigDecimal("1500.0"));
         account2.setStatus(AccountStatus.INACTIVE);
 
         List<AccountModel> accounts = Arrays.asList(account1, account2);
@@ -154,7 +155,7 @@ public class AccountMapperTest {
         String message = "Transfer successful";
         UUID fromAccountId = UUID.randomUUID();
         UUID toAccountId = UUID.randomUUID();
-        Double amount = 100.0;
+        BigDecimal amount = new BigDecimal("100.0");
 
         // When
         TransferResponse response = AccountMapper.toTransferResponse(message, fromAccountId, toAccountId, amount);
@@ -169,7 +170,7 @@ public class AccountMapperTest {
         // Given
         UUID fromAccountId = UUID.randomUUID();
         UUID toAccountId = UUID.randomUUID();
-        Double amount = 100.0;
+        BigDecimal amount = new BigDecimal("100.0");
 
         // When
         TransferResponse response = AccountMapper.toTransferResponse(null, fromAccountId, toAccountId, amount);
@@ -185,7 +186,7 @@ public class AccountMapperTest {
         String message = "Transfer test";
         UUID fromAccountId = UUID.randomUUID();
         UUID toAccountId = UUID.randomUUID();
-        Double amount = -100.0; // Invalid amount
+        BigDecimal amount = new BigDecimal("-100.0"); // Invalid amount
 
         // When
         TransferResponse response = AccountMapper.toTransferResponse(message, fromAccountId, toAccountId, amount);
@@ -0,0 +1,172 @@
+package com.ejada.accounts.Services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.ejada.accounts.Models.AccountModel;
+import com.ejada.accounts.Models.AccountType;
+import com.ejada.accounts.Repos.AccountRepo;
+import com.ejada.accounts.Services.impl.AccountServiceImpl;
+import com.ejada.accounts.dto.TransferRequest;
+import com.ejada.accounts.exception.AccountNotFoundException;
+import com.ejada.accounts.exception.InsufficientFundsException;
+
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:transfers;LOCK_TIMEOUT=10000",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AccountServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AccountTransferConcurrencyTest {
+
+    private static final int ACCOUNTS = 10;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.00");
+    private static final int THREADS = 32;
+    private static final int TRANSFERS = 5000;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepo accountRepo;
+
+    @MockitoBean
+    private KafkaProducerService kafkaProducerService;
+
+    @MockitoBean
+    private WebClient webClientTransactions;
+
+    private UUID createAccount(BigDecimal balance) {
+        AccountModel account = new AccountModel();
+        account.setUserId(UUID.randomUUID());
+        account.setAccountType(AccountType.CHECKING);
+        account.setBalance(balance);
+        return accountRepo.save(account).getId();
+    }
+
+    @Test
+    public void testTransfer_RollsBackDebitWhenCreditFails() {
+        // Given: a missing destination that sorts after the source, so the debit runs first
+        UUID fromAccountId = createAccount(new BigDecimal("100.00"));
+        UUID missingAccountId = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
+        // When
+        assertThrows(AccountNotFoundException.class,
+                () -> accountService.transferAmount(new TransferRequest(fromAccountId, missingAccountId, new BigDecimal("40.00"))));
+
+        // Then
+        assertEquals(0, new BigDecimal("100.00").compareTo(accountRepo.findById(fromAccountId).orElseThrow().getBalance()));
+    }
+
+    @Test
+    public void testTransfer_RefusesOverdraft() {
+        // Given
+        UUID fromAccountId = createAccount(new BigDecimal("10.00"));
+        UUID toAccountId = createAccount(BigDecimal.ZERO);
+
+        // When
+        InsufficientFundsException ex = assertThrows(InsufficientFundsException.class,
+                () -> accountService.transferAmount(new TransferRequest(fromAccountId, toAccountId, new BigDecimal("40.00"))));
+
+        // Then
+        assertTrue(ex.getMessage().contains("Available: 10.0000, Required: 40.00"), ex.getMessage());
+        assertEquals(0, BigDecimal.ZERO.compareTo(accountRepo.findById(toAccountId).orElseThrow().getBalance()));
+    }
+
+    @Test
+    public void testTransfer_WithTransactionId_AppliedOnce() {
+        // Given: the response to the first attempt was lost and the caller sends it again
+        UUID fromAccountId = createAccount(new BigDecimal("100.00"));
+        UUID toAccountId = createAccount(BigDecimal.ZERO);
+        TransferRequest request = new TransferRequest(fromAccountId, toAccountId, new BigDecimal("40.00"), UUID.randomUUID());
+
+        // When
+        accountService.transferAmount(request);
+        accountService.transferAmount(request);
+
+        // Then
+        assertEquals(0, new BigDecimal("60.00").compareTo(accountRepo.findById(fromAccountId).orElseThrow().getBalance()));
+        assertEquals(0, new BigDecimal("40.00").compareTo(accountRepo.findById(toAccountId).orElseThrow().getBalance()));
+    }
+
+    @Test
+    public void testTransfer_WithTransactionId_RejectedAttemptCanBeRetried() {
+        // Given: a rejected transfer rolls back its inbox row along with the balances
+        UUID fromAccountId = createAccount(new BigDecimal("10.00"));
+        UUID toAccountId = createAccount(BigDecimal.ZERO);
+        UUID transactionId = UUID.randomUUID();
+        assertThrows(InsufficientFundsException.class,
+                () -> accountService.transferAmount(new TransferRequest(fromAccountId, toAccountId, new BigDecimal("40.00"), transactionId)));
+
+        // When
+        accountService.transferAmount(new TransferRequest(fromAccountId, toAccountId, new BigDecimal("10.00"), transactionId));
+
+        // Then
+        assertEquals(0, BigDecimal.ZERO.compareTo(accountRepo.findById(fromAccountId).orElseThrow().getBalance()));
+    }
+
+    @Test
+    public void testConcurrentTransfers_ConserveMoneyWithoutDeadlocks() throws Exception {
+        // Given
+        List<UUID> accountIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(createAccount(INITIAL_BALANCE));
+        }
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger insufficientFunds = new AtomicInteger();
+        List<Throwable> unexpected = Collections.synchronizedList(new ArrayList<>());
+
+        // When: random transfers in both directions between a handful of hot accounts
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        for (int i = 0; i < TRANSFERS; i++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int from = random.nextInt(ACCOUNTS);
+                int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                try {
+                    accountService.transferAmount(new TransferRequest(accountIds.get(from), accountIds.get(to), BigDecimal.valueOf(1 + random.nextInt(10_000), 2)));
+                    completed.incrementAndGet();
+                } catch (InsufficientFundsException e) {
+                    insufficientFunds.incrementAndGet();
+                } catch (Throwable e) {
+                    unexpected.add(e);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d transfers, %d rejected for funds, %.0f TPS%n", completed.get(), insufficientFunds.get(), TRANSFERS / seconds);
+
+        // Then
+        assertTrue(unexpected.isEmpty(), () -> "unexpected failures: " + unexpected.get(0));
+        assertEquals(TRANSFERS, completed.get() + insufficientFunds.get());
+        List<AccountModel> accounts = accountRepo.findAllById(accountIds);
+        BigDecimal total = accounts.stream().map(AccountModel::getBalance).reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, INITIAL_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)).compareTo(total), "total " + total);
+        accounts.forEach(account -> assertTrue(account.getBalance().signum() >= 0, "negative balance " + account.getBalance()));
+    }
+}
@@ -0,0 +1,116 @@
+package com.ejada.accounts.Services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import com.ejada.accounts.Models.AccountModel;
+import com.ejada.accounts.Models.AccountType;
+import com.ejada.accounts.Repos.AccountRepo;
+import com.ejada.accounts.Repos.ProcessedTransferRepo;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:transfer-commands",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false",
+    "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+    "scheduler.enabled=false"
+})
+@EmbeddedKafka(partitions = 1, topics = {"TransferCommands", "TransferResults"})
+public class TransferCommandListenerIntegrationTest {
+
+    @Autowired
+    private AccountRepo accountRepo;
+
+    @Autowired
+    private ProcessedTransferRepo processedTransferRepo;
+
+    @Autowired
+    private KafkaTemplate<String, HashMap<String, Object>> kafkaTemplate;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    private UUID createAccount(String balance) {
+        AccountModel account = new AccountModel();
+        account.setUserId(UUID.randomUUID());
+        account.setAccountType(AccountType.CHECKING);
+        account.setBalance(new BigDecimal(balance));
+        return accountRepo.save(account).getId();
+    }
+
+    private Consumer<String, HashMap<String, Object>> resultConsumer() {
+        Map<String, Object> props = KafkaTestUtils.consumerProps("transactions-stub", "false", embeddedKafka);
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, HashMap.class.getName());
+        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        Consumer<String, HashMap<String, Object>> consumer = new DefaultKafkaConsumerFactory<String, HashMap<String, Object>>(
+                props, new StringDeserializer(), new JsonDeserializer<>()).createConsumer();
+        embeddedKafka.consumeFromAnEmbeddedTopic(consumer, "TransferResults");
+        return consumer;
+    }
+
+    private void sendCommand(UUID transactionId, UUID fromAccountId, UUID toAccountId, String amount) {
+        HashMap<String, Object> command = new HashMap<>();
+        command.put("transactionId", transactionId.toString());
+        command.put("fromAccountId", fromAccountId.toString());
+        command.put("toAccountId", toAccountId.toString());
+        command.put("amount", amount);
+        kafkaTemplate.send("TransferCommands", fromAccountId.toString(), command);
+    }
+
+    @Test
+    public void testTransferCommands_AppliedOnceAndReported() {
+        // Given
+        UUID fromAccountId = createAccount("100.00");
+        UUID toAccountId = createAccount("0");
+        UUID transfer = UUID.randomUUID();
+        UUID overdraft = UUID.randomUUID();
+        UUID malformed = UUID.randomUUID();
+
+        try (Consumer<String, HashMap<String, Object>> transactions = resultConsumer()) {
+            // When: the first command is delivered twice, as after a relay crash
+            sendCommand(transfer, fromAccountId, toAccountId, "30.25");
+            sendCommand(transfer, fromAccountId, toAccountId, "30.25");
+            sendCommand(overdraft, fromAccountId, toAccountId, "500");
+            sendCommand(malformed, fromAccountId, toAccountId, "thirty");
+
+            Map<String, String> statuses = new HashMap<>();
+            int results = 0;
+            long deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+            while (results < 4 && System.nanoTime() < deadline) {
+                ConsumerRecords<String, HashMap<String, Object>> records = KafkaTestUtils.getRecords(transactions, Duration.ofSeconds(1));
+                for (ConsumerRecord<String, HashMap<String, Object>> record : records) {
+                    statuses.put(record.key(), record.value().get("status").toString());
+                    results++;
+                }
+            }
+
+            // Then
+            assertEquals(4, results);
+            assertEquals("SUCCESS", statuses.get(transfer.toString()));
+            assertEquals("FAILED", statuses.get(overdraft.toString()));
+            assertEquals("FAILED", statuses.get(malformed.toString()));
+            assertEquals(0, new BigDecimal("69.75").compareTo(accountRepo.findById(fromAccountId).orElseThrow().getBalance()));
+            assertEquals(0, new BigDecimal("30.25").compareTo(accountRepo.findById(toAccountId).orElseThrow().getBalance()));
+            assertEquals(3, processedTransferRepo.count());
+        }
+    }
+}
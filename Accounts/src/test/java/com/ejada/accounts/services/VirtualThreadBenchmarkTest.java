@@ -0,0 +1,107 @@
+package com.ejada.accounts.Services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ejada.accounts.Config.WebClientConfig;
+import com.ejada.accounts.Models.AccountModel;
+import com.ejada.accounts.Services.impl.AccountServiceImpl;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Requests handled per second when each one blocks on a slow downstream call, on a pool of
+ * 200 platform threads (Tomcat's default limit without spring.threads.virtual.enabled) and
+ * on a virtual thread per request. The call is shouldDeactivateAccount against a local
+ * transactions service that answers after benchmark.delay-ms, through the production
+ * WebClient with its connection pool opened up so the thread model is the only limit.
+ * Skipped by default; run with
+ * mvn test -Dtest=VirtualThreadBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class VirtualThreadBenchmarkTest {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final Duration DELAY = Duration.ofMillis(Integer.getInteger("benchmark.delay-ms", 200));
+
+    // Local transactions service whose latest-transaction lookup takes DELAY
+    private static final DisposableServer TRANSACTIONS = HttpServer.create()
+            .port(0)
+            .route(routes -> routes.get("/accounts/{accountId}/getLatest", (request, response) -> response
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .sendString(Mono.just("{\"timestamp\":\"2020-01-01 00:00:00\"}").delayElement(DELAY))))
+            .bindNow();
+
+    @AfterAll
+    public static void stopTransactionsStub() {
+        TRANSACTIONS.disposeNow();
+    }
+
+    private static AccountService accountService() {
+        WebClientConfig webClientConfig = new WebClientConfig();
+        ReflectionTestUtils.setField(webClientConfig, "transactionServiceUrl", "http://localhost:" + TRANSACTIONS.port());
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("http.client.max-connections", "5000")
+                .withProperty("http.client.pending-acquire-max-count", "50000")
+                .withProperty("http.client.response-timeout", "30s");
+        environment.setConversionService(new ApplicationConversionService());
+        ReflectionTestUtils.setField(webClientConfig, "environment", environment);
+        AccountServiceImpl accountService = new AccountServiceImpl();
+        ReflectionTestUtils.setField(accountService, "webClientTransactions", webClientConfig.webClientTransactions());
+        return accountService;
+    }
+
+    private static double requestsPerSecond(AccountService accountService, ExecutorService executor, int requests) throws Exception {
+        AccountModel account = new AccountModel();
+        account.setId(UUID.randomUUID());
+        account.setCreatedAt(Timestamp.valueOf("2019-01-01 00:00:00"));
+        Timestamp cutoff = Timestamp.from(Instant.now());
+        try (executor) {
+            long start = System.nanoTime();
+            List<Future<Boolean>> results = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> accountService.shouldDeactivateAccount(account, cutoff)));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(), "the stubbed lookup says the account is idle");
+            }
+            return requests / ((System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    @Test
+    public void benchmarkBlockingCallsOnPlatformVersusVirtualThreads() throws Exception {
+        AccountService accountService = accountService();
+        int requests = Integer.getInteger("benchmark.requests", 4000);
+        // Warm up the connection pool and JIT before timing
+        requestsPerSecond(accountService, Executors.newVirtualThreadPerTaskExecutor(), 1000);
+
+        double platform = requestsPerSecond(accountService, Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), requests);
+        double virtual = requestsPerSecond(accountService, Executors.newVirtualThreadPerTaskExecutor(), requests);
+
+        System.out.printf("%d requests, %d ms downstream%n", requests, DELAY.toMillis());
+        System.out.printf("%-28s %10.0f req/s%n", TOMCAT_MAX_THREADS + " platform threads", platform);
+        System.out.printf("%-28s %10.0f req/s  x%.1f%n", "virtual thread per request", virtual, virtual / platform);
+        assertTrue(virtual > platform, "virtual threads should not be bounded by the platform pool");
+    }
+}
@@ -0,0 +1,177 @@
+package com.ejada.bff.config;
+
+import com.ejada.logging.producer.LogPublisher.LogEvent;
+import com.ejada.logging.producer.LogPublisher.TruncatedBody;
+import com.ejada.logging.producer.RequestLogProducer;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.Context;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gives every request a correlation ID: the caller's X-Correlation-Id, or a new one. It is
+ * echoed on the response and put in the Reactor context, from where the downstream
+ * WebClient calls forward it.
+ * <p>
+ * This is also the one place requests are logged. Once the response completes, its Request
+ * event (path variables and query parameters) and Response event (the body written, with
+ * the endpoint, status and duration) are handed to RequestLogProducer, so sampling can
+ * keep every failed or slow request. Only the first logs.payload.max-bytes of the encoded
+ * body are copied, as it is written; the rest of the logging work runs on the log sender
+ * thread, off the event loop.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdWebFilter implements WebFilter {
+
+    public static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+    public static final String CORRELATION_ID = "correlationId";
+
+    private static final String RESPONSE_LOG = CorrelationIdWebFilter.class.getName() + ".responseLog";
+
+    // Longer caller-supplied IDs are replaced rather than stored
+    private static final int MAX_CORRELATION_ID_LENGTH = 64;
+
+    @Autowired
+    private RequestLogProducer requestLogProducer;
+
+    @Value("${logs.payload.max-bytes:4096}")
+    private int logMaxPayloadBytes;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (exchange.getRequest().getPath().value().startsWith("/actuator")) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        Instant startedAt = Instant.now();
+        String header = exchange.getRequest().getHeaders().getFirst(CORRELATION_ID_HEADER);
+        String correlationId = header == null || header.isBlank() || header.length() > MAX_CORRELATION_ID_LENGTH
+                ? UUID.randomUUID().toString()
+                : header;
+        exchange.getAttributes().put(CORRELATION_ID, correlationId);
+        exchange.getResponse().getHeaders().set(CORRELATION_ID_HEADER, correlationId);
+        LoggedResponse response = new LoggedResponse(exchange.getResponse(), logMaxPayloadBytes);
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    int httpStatus = signal == SignalType.ON_ERROR ? HttpStatus.INTERNAL_SERVER_ERROR.value()
+                            : status != null ? status.value() : HttpStatus.OK.value();
+                    long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    String endpoint = endpoint(exchange);
+                    LogEvent request = new LogEvent(correlationId, endpoint, null, null, requestMessage(exchange), "Request", startedAt);
+                    Object message = exchange.getAttributes().containsKey(RESPONSE_LOG)
+                            ? exchange.getAttribute(RESPONSE_LOG)
+                            : response.body();
+                    requestLogProducer.sendResponse(correlationId, endpoint, httpStatus, durationMs, List.of(request), message);
+                })
+                .contextWrite(Context.of(CORRELATION_ID, correlationId));
+    }
+
+    // Path variables and query parameters; a repeated parameter is logged as a list
+    private static Map<String, Object> requestMessage(ServerWebExchange exchange) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        Map<String, String> pathVariables = exchange.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pathVariables != null) {
+            message.putAll(pathVariables);
+        }
+        exchange.getRequest().getQueryParams()
+                .forEach((name, values) -> message.put(name, values.size() == 1 ? values.get(0) : values));
+        return message;
+    }
+
+    // Logs this message as the Response instead of the body written
+    public static void deferResponse(ServerWebExchange exchange, Object message) {
+        if (message != null) {
+            exchange.getAttributes().put(RESPONSE_LOG, message);
+        }
+    }
+
+    public static String correlationId(ServerWebExchange exchange) {
+        return exchange.getAttribute(CORRELATION_ID);
+    }
+
+    // Method and route pattern, e.g. "GET /bff/dashboard/{userId}", so latency can be grouped by it
+    public static String endpoint(ServerWebExchange exchange) {
+        Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return exchange.getRequest().getMethod().name() + " "
+                + (pattern != null ? pattern : exchange.getRequest().getPath().value());
+    }
+
+    // Forwards the correlation ID from the Reactor context on outgoing WebClient calls
+    public static ExchangeFilterFunction propagation() {
+        return (request, next) -> Mono.deferContextual(context -> next.exchange(
+                context.<String>getOrEmpty(CORRELATION_ID)
+                        .filter(id -> !request.headers().containsKey(CORRELATION_ID_HEADER))
+                        .map(id -> ClientRequest.from(request).header(CORRELATION_ID_HEADER, id).build())
+                        .orElse(request)));
+    }
+
+    // Keeps the start of the encoded response body, up to maxBytes, for the Response log
+    private static class LoggedResponse extends ServerHttpResponseDecorator {
+
+        private final int maxBytes;
+        private final StringBuilder preview = new StringBuilder();
+        private long bytes;
+
+        LoggedResponse(ServerHttpResponse delegate, int maxBytes) {
+            super(delegate);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(this::capture));
+        }
+
+        private synchronized void capture(DataBuffer buffer) {
+            int readable = buffer.readableByteCount();
+            int length = maxBytes > 0 ? (int) Math.max(0, Math.min(readable, maxBytes - bytes)) : readable;
+            if (length > 0) {
+                preview.append(buffer.toString(buffer.readPosition(), length, StandardCharsets.UTF_8));
+            }
+            bytes += readable;
+        }
+
+        // A JSON body is logged as it was written rather than as an escaped string
+        synchronized Object body() {
+            if (bytes == 0) {
+                return null;
+            }
+            if (maxBytes > 0 && bytes > maxBytes) {
+                return new TruncatedBody(bytes, preview.toString());
+            }
+            MediaType contentType = getHeaders().getContentType();
+            return contentType != null && contentType.isCompatibleWith(MediaType.APPLICATION_JSON)
+                    ? new RawValue(preview.toString())
+                    : preview.toString();
+        }
+    }
+}
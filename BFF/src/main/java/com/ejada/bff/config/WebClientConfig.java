@@ -1,13 +1,25 @@
 package com.ejada.bff.config;
 
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
 
 @Configuration
 public class WebClientConfig {
 
+    // Path segments that are IDs are collapsed so per-URI latency metrics keep a bounded number of tags
+    private static final Pattern UUID_SEGMENT = Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
     @Value("${services.user.base-url}")
     private String userServiceUrl;
 
@@ -17,24 +29,62 @@ public class WebClientConfig {
     @Value("${services.transaction.base-url}")
     private String transactionServiceUrl;
 
+    private final Environment environment;
+
+    public WebClientConfig(Environment environment) {
+        this.environment = environment;
+    }
+
     @Bean
     public WebClient userWebClient() {
-        return WebClient.builder()
-                .baseUrl(userServiceUrl)
-                .build();
+        return buildWebClient("user", userServiceUrl);
     }
 
     @Bean
     public WebClient accountWebClient() {
-        return WebClient.builder()
-                .baseUrl(accountServiceUrl)
-                .build();
+        return buildWebClient("account", accountServiceUrl);
     }
 
     @Bean
     public WebClient transactionWebClient() {
+        return buildWebClient("transaction", transactionServiceUrl);
+    }
+
+    /**
+     * Builds a WebClient with its own connection pool for one downstream service.
+     * Every setting is read from services.{service}.http.{setting} and falls back to
+     * http.client.{setting}, so a single slow downstream can be tuned on its own.
+     */
+    private WebClient buildWebClient(String service, String baseUrl) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(service + "-service")
+                .maxConnections(setting(service, "max-connections", Integer.class, 100))
+                .pendingAcquireMaxCount(setting(service, "pending-acquire-max-count", Integer.class, 500))
+                .pendingAcquireTimeout(setting(service, "pending-acquire-timeout", Duration.class, Duration.ofSeconds(5)))
+                .maxIdleTime(setting(service, "max-idle-time", Duration.class, Duration.ofSeconds(30)))
+                .maxLifeTime(setting(service, "max-life-time", Duration.class, Duration.ofMinutes(5)))
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                        (int) setting(service, "connect-timeout", Duration.class, Duration.ofSeconds(2)).toMillis())
+                .responseTimeout(setting(service, "response-timeout", Duration.class, Duration.ofSeconds(5)))
+                .keepAlive(true)
+                .metrics(true, uri -> UUID_SEGMENT.matcher(uri).replaceAll("{id}"));
+
+        int maxInMemorySize = (int) setting(service, "max-in-memory-size", DataSize.class, DataSize.ofMegabytes(2)).toBytes();
+
         return WebClient.builder()
-                .baseUrl(transactionServiceUrl)
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxInMemorySize))
+                .filter(CorrelationIdWebFilter.propagation())
                 .build();
     }
+
+    private <T> T setting(String service, String name, Class<T> type, T defaultValue) {
+        T fallback = environment.getProperty("http.client." + name, type, defaultValue);
+        return environment.getProperty("services." + service + ".http." + name, type, fallback);
+    }
 }
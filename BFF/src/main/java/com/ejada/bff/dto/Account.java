@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 
 @Data
@@ -13,6 +14,6 @@ public class Account {
     private UUID accountId;
     private String accountNumber;
     private String accountType;
-    private double balance;
+    private BigDecimal balance;
     private String status;
 }
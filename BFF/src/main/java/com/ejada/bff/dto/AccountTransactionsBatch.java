@@ -0,0 +1,18 @@
+package com.ejada.bff.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class AccountTransactionsBatch {
+    public AccountTransactionsBatch(){
+        this.transactionsByAccount=new HashMap<UUID, List<Transaction>>();
+    }
+    private Map<UUID, List<Transaction>> transactionsByAccount;
+}
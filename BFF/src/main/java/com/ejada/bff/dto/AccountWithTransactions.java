@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,7 +15,7 @@ public class AccountWithTransactions {
     private UUID accountId;
     private String accountNumber;
     private String accountType;
-    private double balance;
+    private BigDecimal balance;
     private String status;
     private List<Transaction> accountTransactions;
 }
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 
 @Data
@@ -15,7 +16,7 @@ public class Transaction {
     private UUID id;
     @JsonProperty("accountId")
     private UUID toAccountId;
-    private Double amount;
+    private BigDecimal amount;
     private String description;
     @JsonProperty("timestamp")
     private String createdAt;
@@ -0,0 +1,5 @@
+package com.ejada.bff.exception;
+
+public class DownstreamClientException extends RuntimeException {
+    public DownstreamClientException(String message) { super(message); }
+}
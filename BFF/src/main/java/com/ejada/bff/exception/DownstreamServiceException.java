@@ -0,0 +1,5 @@
+package com.ejada.bff.exception;
+
+public class DownstreamServiceException extends RuntimeException {
+    public DownstreamServiceException(String message) { super(message); }
+}
@@ -1,7 +1,7 @@
 package com.ejada.bff.exception;
 
-import com.ejada.bff.service.KafkaProducerService;
-import org.springframework.beans.factory.annotation.Autowired;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -9,19 +9,21 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
-    @Autowired
-    private KafkaProducerService kafkaProducerService;
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<Object> handleNotFound(NotFoundException ex) {
         Error error=new Error(HttpStatus.NOT_FOUND.value()+"","User Not Found",ex.getMessage());
-        kafkaProducerService.sendMessage(error, "Response");
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    public ResponseEntity<Object> handleDownstreamUnavailable(RuntimeException ex) {
+        Error error=new Error(HttpStatus.SERVICE_UNAVAILABLE.value()+"","Service Unavailable",ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleOtherException(Exception ex) {
         Error error=new Error(HttpStatus.INTERNAL_SERVER_ERROR.value()+"","Internal Server Error",ex.getMessage());
-        kafkaProducerService.sendMessage(error, "Response");
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 }
@@ -0,0 +1,38 @@
+package com.ejada.bff.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class AccountEventsListener {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountEventsListener.class);
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    // A random group per instance: every BFF instance has its own cache to invalidate
+    @KafkaListener(topics = "AccountEvents", groupId = "bff-dashboard-cache-${random.uuid}")
+    public void listen(HashMap<String, Object> event) {
+        try {
+            uuids(event.get("userIds")).forEach(dashboardCache::invalidateUser);
+            dashboardCache.invalidateAccounts(uuids(event.get("accountIds")));
+        } catch (Exception e) {
+            log.error("Error processing account event {}", event, e);
+        }
+    }
+
+    private static List<UUID> uuids(Object value) {
+        if (!(value instanceof List<?> list)) {
+            return List.of();
+        }
+        return list.stream().map(id -> UUID.fromString(id.toString())).toList();
+    }
+}
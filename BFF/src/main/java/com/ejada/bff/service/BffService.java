@@ -1,14 +1,19 @@
 package com.ejada.bff.service;
 
 import com.ejada.bff.dto.*;
+import com.ejada.bff.exception.DownstreamClientException;
+import com.ejada.bff.exception.DownstreamServiceException;
 import com.ejada.bff.exception.NotFoundException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -17,87 +22,144 @@ public class BffService {
     private final WebClient userWebClient;
     private final WebClient accountWebClient;
     private final WebClient transactionWebClient;
+    private final DownstreamResilience resilience;
+
+    // Upper bound on in-flight per-account transaction lookups when the batch endpoint is unavailable
+    @Value("${bff.dashboard.transactions-concurrency:8}")
+    private int transactionsConcurrency;
+
+    // The dashboard only shows the newest transactions of each account
+    @Value("${bff.dashboard.transactions-page-size:10}")
+    private int transactionsPageSize;
 
     public BffService(WebClient userWebClient,
                       WebClient accountWebClient,
-                      WebClient transactionWebClient) {
+                      WebClient transactionWebClient,
+                      DownstreamResilience resilience) {
         this.userWebClient = userWebClient;
         this.accountWebClient = accountWebClient;
         this.transactionWebClient = transactionWebClient;
+        this.resilience = resilience;
     }
 
-    private UserProfile getUserProfile(UUID userId){
-        return userWebClient.get()
+    private Mono<UserProfile> getUserProfile(UUID userId){
+        return resilience.protect("userService", userWebClient.get()
                 .uri("/users/{userId}/profile", userId)
                 .retrieve()
-                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), response -> {
+                .onStatus(status -> status.is4xxClientError(), response -> {
                     if (response.statusCode() == HttpStatus.NOT_FOUND) {
                         return response.bodyToMono(String.class)
                                 .map(body -> new NotFoundException("User with ID " + userId + " not found."));
                     }
+                    // The user service is healthy and rejected the request, so neither breaker nor retry should act on it
                     return response.bodyToMono(String.class)
-                            .map(body -> new RuntimeException( "Failed to retrieve dashboard data due to an issue with downstream services."));
+                            .map(body -> new DownstreamClientException("User service rejected the profile request with " + response.statusCode().value() + "."));
                 })
-                .bodyToMono(UserProfile.class)
-                .block();
+                .onStatus(status -> status.is5xxServerError(), response ->
+                        response.bodyToMono(String.class)
+                                .map(body -> new DownstreamServiceException( "Failed to retrieve dashboard data due to an issue with downstream services.")))
+                .bodyToMono(UserProfile.class));
     }
-    private UserAccounts getUserAccounts(UUID userId){
-        return accountWebClient.get()
+    private Mono<UserAccounts> getUserAccounts(UUID userId){
+        return resilience.protect("accountService", accountWebClient.get()
                 .uri("/accounts/users/{userId}", userId)
                 .retrieve()
                 .onStatus(status->status.is5xxServerError(), response ->
                         response.bodyToMono(String.class)
-                                .flatMap(body -> Mono.error(new RuntimeException("Downstream Account Service error"))))
-                .bodyToMono(UserAccounts.class)
-                .onErrorResume(ex -> {
-                    System.out.println("point2");
-                    return Mono.just(new UserAccounts());
-                })
-                .block();
+                                .flatMap(body -> Mono.error(new DownstreamServiceException("Downstream Account Service error"))))
+                .bodyToMono(UserAccounts.class))
+                // The dashboard still renders the profile when accounts are unavailable or the breaker is open
+                .onErrorResume(ex -> Mono.just(new UserAccounts()))
+                .defaultIfEmpty(new UserAccounts());
     }
 
-    private AccountTransactions getAccountTransactions(UUID accountId){
-        return transactionWebClient.get()
-                .uri("/transactions/accounts/{accountId}", accountId)
+    private Mono<AccountTransactions> getAccountTransactions(UUID accountId){
+        return resilience.protect("transactionService", transactionWebClient.get()
+                .uri(uri -> uri.path("/transactions/accounts/{accountId}")
+                        .queryParam("size", transactionsPageSize)
+                        .build(accountId))
                 .retrieve()
                 .onStatus(status->status.is5xxServerError(), response ->
                         response.bodyToMono(String.class)
-                                .flatMap(body -> Mono.error(new RuntimeException("Downstream Transaction Service error"))))
-                .bodyToMono(AccountTransactions.class)
+                                .flatMap(body -> Mono.error(new DownstreamServiceException("Downstream Transaction Service error"))))
+                .bodyToMono(AccountTransactions.class))
                 .onErrorResume(ex -> {
                     return Mono.just(new AccountTransactions());
                 })
-                .block();
+                .defaultIfEmpty(new AccountTransactions());
     }
 
-    public DashboardResponse getDashboard(UUID userId) {
-        UserProfile userProfile = getUserProfile(userId);
-        UserAccounts userAccounts = getUserAccounts(userId);
-
-        List<AccountWithTransactions> detailedAccounts = !userAccounts.getAccounts().isEmpty()?userAccounts.getAccounts().stream()
-                .map(account -> {
-                    AccountTransactions transactions = getAccountTransactions(account.getAccountId());
-                    return new AccountWithTransactions(
-                            account.getAccountId(),
-                            account.getAccountNumber(),
-                            account.getAccountType(),
-                            account.getBalance(),
-                            account.getStatus(),
-                            transactions.getTransactions()
-                    );
+    /**
+     * Fetches the transactions of all the given accounts with a single call to the
+     * transactions batch endpoint. Falls back to one call per account when the
+     * transactions service does not expose the batch endpoint yet.
+     */
+    private Mono<Map<UUID, List<Transaction>>> getTransactionsByAccount(List<UUID> accountIds){
+        return resilience.protect("transactionService", transactionWebClient.post()
+                .uri("/transactions/accounts/batch")
+                .bodyValue(Map.of("accountIds", accountIds, "limitPerAccount", transactionsPageSize))
+                .retrieve()
+                .onStatus(status->status.is5xxServerError(), response ->
+                        response.bodyToMono(String.class)
+                                .flatMap(body -> Mono.error(new DownstreamServiceException("Downstream Transaction Service error"))))
+                .bodyToMono(AccountTransactionsBatch.class))
+                .map(AccountTransactionsBatch::getTransactionsByAccount)
+                .onErrorResume(ex -> ex instanceof WebClientResponseException.NotFound
+                                || ex instanceof WebClientResponseException.MethodNotAllowed,
+                        ex -> getTransactionsPerAccount(accountIds))
+                .onErrorResume(ex -> {
+                    return Mono.just(Map.of());
                 })
-                .toList():new ArrayList<>();
+                .defaultIfEmpty(Map.of());
+    }
 
-        return new DashboardResponse(
-                userProfile.getUserId(),
-                userProfile.getUsername(),
-                userProfile.getEmail(),
-                userProfile.getFirstName(),
-                userProfile.getLastName(),
-                detailedAccounts
-        );
+    private Mono<Map<UUID, List<Transaction>>> getTransactionsPerAccount(List<UUID> accountIds){
+        return Flux.fromIterable(accountIds)
+                .flatMap(accountId -> getAccountTransactions(accountId)
+                        .map(transactions -> Map.entry(accountId, transactions)), transactionsConcurrency)
+                .collectMap(Map.Entry::getKey, entry -> entry.getValue().getTransactions());
     }
 
+    private Mono<List<AccountWithTransactions>> withTransactions(UserAccounts userAccounts) {
+        List<Account> accounts = userAccounts.getAccounts() == null ? List.of() : userAccounts.getAccounts();
+        if (accounts.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return getTransactionsByAccount(accounts.stream().map(Account::getAccountId).toList())
+                .map(transactionsByAccount -> accounts.stream()
+                        .map(account -> new AccountWithTransactions(
+                                account.getAccountId(),
+                                account.getAccountNumber(),
+                                account.getAccountType(),
+                                account.getBalance(),
+                                account.getStatus(),
+                                transactionsByAccount.getOrDefault(account.getAccountId(), List.of())
+                        ))
+                        .toList());
+    }
 
-}
+    /**
+     * Builds the dashboard without blocking: the profile and the account list are
+     * fetched at the same time, then the transactions of all accounts are fetched
+     * with one batch call, so a dashboard costs three downstream calls however many
+     * accounts the user has.
+     */
+    public Mono<DashboardResponse> getDashboard(UUID userId) {
+        Mono<List<AccountWithTransactions>> detailedAccounts = getUserAccounts(userId)
+                .flatMap(this::withTransactions);
 
+        return Mono.zip(getUserProfile(userId), detailedAccounts)
+                .map(tuple -> {
+                    UserProfile userProfile = tuple.getT1();
+                    return new DashboardResponse(
+                            userProfile.getUserId(),
+                            userProfile.getUsername(),
+                            userProfile.getEmail(),
+                            userProfile.getFirstName(),
+                            userProfile.getLastName(),
+                            tuple.getT2()
+                    );
+                });
+    }
+
+}
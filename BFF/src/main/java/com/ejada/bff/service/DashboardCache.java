@@ -0,0 +1,82 @@
+package com.ejada.bff.service;
+
+import com.ejada.bff.dto.AccountWithTransactions;
+import com.ejada.bff.dto.DashboardResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Short-lived, size-bounded cache of dashboards keyed by user ID. Concurrent requests
+ * for the same user share one in-flight load, and entries are invalidated by user or
+ * by account ID when AccountEvents reports a change. Hit, miss and eviction counts are
+ * published as cache.* metrics tagged cache=dashboard.
+ */
+@Component
+public class DashboardCache {
+
+    private final AsyncCache<UUID, DashboardResponse> dashboards;
+
+    // Account events only carry account IDs, so remember which user each cached account belongs to
+    private final Cache<UUID, UUID> userIdByAccountId;
+
+    public DashboardCache(@Value("${bff.dashboard.cache.ttl:30s}") Duration ttl,
+                          @Value("${bff.dashboard.cache.maximum-size:10000}") long maximumSize,
+                          MeterRegistry meterRegistry) {
+        this.dashboards = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .buildAsync();
+        this.userIdByAccountId = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize * 10)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, dashboards, "dashboard");
+    }
+
+    /**
+     * Returns the cached dashboard or loads it once for all concurrent callers. A failed
+     * or empty load is not cached, and a caller that cancels does not cancel the shared load.
+     * The load runs with the first caller's Reactor context, so its correlation ID reaches
+     * the downstream calls.
+     */
+    public Mono<DashboardResponse> get(UUID userId, Function<UUID, Mono<DashboardResponse>> loader) {
+        return Mono.deferContextual(context -> Mono.fromFuture(dashboards.get(userId, (key, executor) -> loader.apply(key)
+                .doOnNext(dashboard -> indexAccounts(key, dashboard))
+                .contextWrite(context)
+                .toFuture()), true));
+    }
+
+    public void invalidateUser(UUID userId) {
+        dashboards.synchronous().invalidate(userId);
+    }
+
+    public void invalidateAccounts(Collection<UUID> accountIds) {
+        accountIds.forEach(accountId -> {
+            UUID userId = userIdByAccountId.getIfPresent(accountId);
+            if (userId != null) {
+                invalidateUser(userId);
+            }
+        });
+    }
+
+    private void indexAccounts(UUID userId, DashboardResponse dashboard) {
+        if (dashboard.getAccounts() == null) {
+            return;
+        }
+        for (AccountWithTransactions account : dashboard.getAccounts()) {
+            userIdByAccountId.put(account.getAccountId(), userId);
+        }
+    }
+}
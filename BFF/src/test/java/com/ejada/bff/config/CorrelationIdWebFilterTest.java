@@ -0,0 +1,126 @@
+package com.ejada.bff.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.ejada.logging.producer.LogPublisher.LogEvent;
+import com.ejada.logging.producer.LogPublisher.TruncatedBody;
+import com.ejada.logging.producer.RequestLogProducer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Mono;
+
+public class CorrelationIdWebFilterTest {
+
+    private final RequestLogProducer requestLogProducer = mock(RequestLogProducer.class);
+    private final AtomicReference<String> forwarded = new AtomicReference<>();
+    // A BFF endpoint that calls one downstream service and writes body as JSON
+    private WebTestClient client(String body) {
+        CorrelationIdWebFilter filter = new CorrelationIdWebFilter();
+        ReflectionTestUtils.setField(filter, "requestLogProducer", requestLogProducer);
+        ReflectionTestUtils.setField(filter, "logMaxPayloadBytes", 64);
+        WebClient downstream = WebClient.builder()
+                .filter(CorrelationIdWebFilter.propagation())
+                .exchangeFunction(request -> {
+                    forwarded.set(request.headers().getFirst(CorrelationIdWebFilter.CORRELATION_ID_HEADER));
+                    return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+                })
+                .build();
+        return WebTestClient.bindToWebHandler(exchange -> downstream.get().uri("http://users/profile")
+                        .retrieve()
+                        .toBodilessEntity()
+                        .then(Mono.defer(() -> write(exchange, body))))
+                .webFilter(filter)
+                .build();
+    }
+
+    private static Mono<Void> write(ServerWebExchange exchange, String body) {
+        exchange.getAttributes().put(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("userId", "42"));
+        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                .wrap(body.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<List<LogEvent>> requestLogs() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    @Test
+    public void testFilter_ForwardsCallerCorrelationIdAndLogsRequest() throws Exception {
+        // Given
+        ArgumentCaptor<List<LogEvent>> requestLogs = requestLogs();
+        ArgumentCaptor<Object> response = ArgumentCaptor.forClass(Object.class);
+
+        // When
+        client("{\"ok\":true}").get().uri("/bff/dashboard/42?fresh=true")
+                .header(CorrelationIdWebFilter.CORRELATION_ID_HEADER, "request-1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(CorrelationIdWebFilter.CORRELATION_ID_HEADER, "request-1")
+                .expectBody().json("{\"ok\":true}");
+
+        // Then
+        assertEquals("request-1", forwarded.get());
+        verify(requestLogProducer).sendResponse(eq("request-1"), eq("GET /bff/dashboard/42"), eq(200), anyLong(),
+                requestLogs.capture(), response.capture());
+        LogEvent request = requestLogs.getValue().get(0);
+        assertEquals("Request", request.messageType());
+        assertEquals(Map.of("userId", "42", "fresh", "true"), request.message());
+        assertEquals("{\"ok\":true}", new ObjectMapper().writeValueAsString(response.getValue()));
+    }
+
+    @Test
+    public void testFilter_KeepsOnlyStartOfLargeBodies() {
+        // Given
+        String body = "{\"accounts\":\"" + "x".repeat(1_000) + "\"}";
+        ArgumentCaptor<Object> response = ArgumentCaptor.forClass(Object.class);
+
+        // When
+        client(body).get().uri("/bff/dashboard/42")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo(body);
+
+        // Then
+        verify(requestLogProducer).sendResponse(anyString(), eq("GET /bff/dashboard/42"), eq(200), anyLong(),
+                anyList(), response.capture());
+        assertEquals(new TruncatedBody(body.length(), body.substring(0, 64)), response.getValue());
+    }
+
+    @Test
+    public void testFilter_CreatesCorrelationIdWhenMissing() {
+        // When
+        String correlationId = client("{}").get().uri("/bff/dashboard/42")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Void.class)
+                .getResponseHeaders()
+                .getFirst(CorrelationIdWebFilter.CORRELATION_ID_HEADER);
+
+        // Then
+        assertNotNull(correlationId);
+        assertEquals(correlationId, forwarded.get());
+    }
+}
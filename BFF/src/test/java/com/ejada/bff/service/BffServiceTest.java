@@ -0,0 +1,224 @@
+package com.ejada.bff.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.ejada.bff.dto.AccountWithTransactions;
+import com.ejada.bff.dto.DashboardResponse;
+import com.ejada.bff.exception.DownstreamClientException;
+import com.ejada.bff.exception.DownstreamServiceException;
+import com.ejada.bff.exception.NotFoundException;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class BffServiceTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private static final DownstreamResilience RESILIENCE = new DownstreamResilience(
+            CircuitBreakerRegistry.ofDefaults(),
+            BulkheadRegistry.of(BulkheadConfig.custom().maxConcurrentCalls(10_000).build()),
+            RetryRegistry.of(RetryConfig.custom().maxAttempts(1).build()));
+
+    private static WebClient stub(java.util.function.Function<String, Mono<ClientResponse>> handler) {
+        return WebClient.builder()
+                .exchangeFunction(request -> handler.apply(request.url().getPath()))
+                .build();
+    }
+
+    private static Mono<ClientResponse> json(String body) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+
+    private static String profileJson() {
+        return "{\"userId\":\"" + USER_ID + "\",\"username\":\"jdoe\",\"email\":\"jdoe@example.com\","
+                + "\"firstName\":\"John\",\"lastName\":\"Doe\"}";
+    }
+
+    private static String accountsJson(List<UUID> accountIds) {
+        return accountIds.stream()
+                .map(id -> "{\"accountId\":\"" + id + "\",\"accountNumber\":\"ACCT-" + id.toString().substring(0, 8)
+                        + "\",\"accountType\":\"CHECKING\",\"balance\":10.0,\"status\":\"ACTIVE\"}")
+                .collect(Collectors.joining(",", "{\"accounts\":[", "]}"));
+    }
+
+    @Test
+    public void testGetDashboard_FetchesAllTransactionsInOneBatchCall() {
+        // Given
+        List<UUID> accountIds = IntStream.range(0, 12).mapToObj(i -> UUID.randomUUID()).toList();
+        AtomicInteger transactionCalls = new AtomicInteger();
+        String batchJson = accountIds.stream()
+                .map(id -> "\"" + id + "\":[{\"transactionId\":\"" + UUID.randomUUID() + "\",\"accountId\":\"" + id
+                        + "\",\"amount\":-5.0,\"description\":\"rent\",\"timestamp\":\"2025-01-01T00:00:00Z\"}]")
+                .collect(Collectors.joining(",", "{\"transactionsByAccount\":{", "}}"));
+
+        BffService bffService = new BffService(
+                stub(path -> json(profileJson())),
+                stub(path -> json(accountsJson(accountIds))),
+                stub(path -> {
+                    transactionCalls.incrementAndGet();
+                    return json(batchJson);
+                }),
+                RESILIENCE);
+        ReflectionTestUtils.setField(bffService, "transactionsConcurrency", 4);
+        ReflectionTestUtils.setField(bffService, "transactionsPageSize", 10);
+
+        // When
+        DashboardResponse dashboard = bffService.getDashboard(USER_ID).block();
+
+        // Then
+        assertNotNull(dashboard);
+        assertEquals("jdoe", dashboard.getUsername());
+        assertEquals(accountIds, dashboard.getAccounts().stream().map(AccountWithTransactions::getAccountId).toList());
+        assertEquals(1, transactionCalls.get());
+        dashboard.getAccounts().forEach(account -> assertEquals(1, account.getAccountTransactions().size()));
+    }
+
+    @Test
+    public void testGetDashboard_FallsBackToConcurrentPerAccountCalls() {
+        // Given
+        List<UUID> accountIds = IntStream.range(0, 12).mapToObj(i -> UUID.randomUUID()).toList();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        WebClient transactions = stub(path -> {
+            if (path.endsWith("/batch")) {
+                return Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+            }
+            return Mono.defer(() -> {
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        return json("{\"transactions\":[]}");
+                    })
+                    .delayElement(Duration.ofMillis(50))
+                    .doOnNext(response -> inFlight.decrementAndGet());
+        });
+
+        BffService bffService = new BffService(
+                stub(path -> json(profileJson())),
+                stub(path -> json(accountsJson(accountIds))),
+                transactions,
+                RESILIENCE);
+        ReflectionTestUtils.setField(bffService, "transactionsConcurrency", 4);
+        ReflectionTestUtils.setField(bffService, "transactionsPageSize", 10);
+
+        // When
+        DashboardResponse dashboard = bffService.getDashboard(USER_ID).block();
+
+        // Then
+        assertNotNull(dashboard);
+        assertEquals(accountIds, dashboard.getAccounts().stream().map(AccountWithTransactions::getAccountId).toList());
+        assertTrue(maxInFlight.get() > 1, "transactions should be fetched in parallel");
+        assertTrue(maxInFlight.get() <= 4, "concurrency limit should be respected");
+    }
+
+    @Test
+    public void testGetDashboard_ServesManyConcurrentDashboardsWithoutBlocking() {
+        // Given
+        int dashboards = 1000;
+        Duration downstreamLatency = Duration.ofMillis(200);
+        List<UUID> accountIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        BffService bffService = new BffService(
+                stub(path -> json(profileJson()).delayElement(downstreamLatency)),
+                stub(path -> json(accountsJson(accountIds)).delayElement(downstreamLatency)),
+                stub(path -> json("{\"transactionsByAccount\":{}}").delayElement(downstreamLatency)),
+                RESILIENCE);
+        ReflectionTestUtils.setField(bffService, "transactionsConcurrency", 4);
+        ReflectionTestUtils.setField(bffService, "transactionsPageSize", 10);
+
+        // When
+        long start = System.nanoTime();
+        Long served = Flux.range(0, dashboards)
+                .flatMap(i -> bffService.getDashboard(USER_ID), dashboards)
+                .count()
+                .block(Duration.ofSeconds(30));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then
+        assertEquals(dashboards, served);
+        // A thread-per-request server would need 1000 threads to do this in under 10 seconds
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(10)) < 0, "took " + elapsed);
+    }
+
+    @Test
+    public void testGetDashboard_UserNotFound() {
+        // Given
+        BffService bffService = new BffService(
+                stub(path -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).body("{}").build())),
+                stub(path -> json(accountsJson(List.of()))),
+                stub(path -> json("{\"transactions\":[]}")),
+                RESILIENCE);
+        ReflectionTestUtils.setField(bffService, "transactionsConcurrency", 4);
+        ReflectionTestUtils.setField(bffService, "transactionsPageSize", 10);
+
+        // When / Then
+        assertThrows(NotFoundException.class, () -> bffService.getDashboard(USER_ID).block());
+    }
+
+    @Test
+    public void testGetDashboard_BadRequestDoesNotTripBreakerOrRetry() {
+        // Given
+        AtomicInteger profileCalls = new AtomicInteger();
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .recordExceptions(DownstreamServiceException.class)
+                .build());
+        DownstreamResilience resilience = new DownstreamResilience(
+                circuitBreakers,
+                BulkheadRegistry.ofDefaults(),
+                RetryRegistry.of(RetryConfig.custom()
+                        .maxAttempts(3)
+                        .waitDuration(Duration.ofMillis(10))
+                        .retryExceptions(DownstreamServiceException.class)
+                        .build()));
+        BffService bffService = new BffService(
+                stub(path -> {
+                    profileCalls.incrementAndGet();
+                    return Mono.just(ClientResponse.create(HttpStatus.BAD_REQUEST).body("{}").build());
+                }),
+                stub(path -> json(accountsJson(List.of()))),
+                stub(path -> json("{\"transactions\":[]}")),
+                resilience);
+        ReflectionTestUtils.setField(bffService, "transactionsConcurrency", 4);
+        ReflectionTestUtils.setField(bffService, "transactionsPageSize", 10);
+
+        // When
+        for (int i = 0; i < 6; i++) {
+            assertThrows(DownstreamClientException.class, () -> bffService.getDashboard(USER_ID).block());
+        }
+
+        // Then
+        CircuitBreaker breaker = circuitBreakers.circuitBreaker("userService");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getMetrics().getNumberOfFailedCalls());
+        assertEquals(6, profileCalls.get(), "a rejected request must not be retried");
+    }
+}
@@ -0,0 +1,82 @@
+package com.ejada.bff.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.ejada.bff.dto.AccountWithTransactions;
+import com.ejada.bff.dto.DashboardResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class DashboardCacheTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID ACCOUNT_ID = UUID.randomUUID();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Function<UUID, Mono<DashboardResponse>> loader = userId -> Mono.fromCallable(() -> {
+        loads.incrementAndGet();
+        AccountWithTransactions account = new AccountWithTransactions(ACCOUNT_ID, "ACCT-1", "CHECKING", BigDecimal.TEN, "ACTIVE", List.of());
+        return new DashboardResponse(userId, "jdoe", "jdoe@example.com", "John", "Doe", List.of(account));
+    }).delayElement(Duration.ofMillis(100));
+
+    @Test
+    public void testGet_CollapsesConcurrentLoads() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DashboardCache cache = new DashboardCache(Duration.ofMinutes(1), 100, meterRegistry);
+
+        // When
+        List<DashboardResponse> dashboards = Flux.range(0, 50)
+                .flatMap(i -> cache.get(USER_ID, loader))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+        cache.get(USER_ID, loader).block();
+
+        // Then
+        assertEquals(50, dashboards.size());
+        assertEquals(1, loads.get());
+        assertEquals(50.0, meterRegistry.get("cache.gets").tag("cache", "dashboard").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "dashboard").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    public void testInvalidateAccounts_ReloadsOwnersDashboard() {
+        // Given
+        DashboardCache cache = new DashboardCache(Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+        cache.get(USER_ID, loader).block();
+
+        // When
+        cache.invalidateAccounts(List.of(ACCOUNT_ID));
+        cache.get(USER_ID, loader).block();
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testGet_DoesNotCacheFailures() {
+        // Given
+        DashboardCache cache = new DashboardCache(Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+
+        // When
+        assertThrows(IllegalStateException.class,
+                () -> cache.get(USER_ID, userId -> Mono.error(new IllegalStateException("down"))).block());
+        DashboardResponse dashboard = cache.get(USER_ID, loader).block();
+
+        // Then
+        assertNotNull(dashboard);
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,157 @@
+package com.ejada.bff.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.ejada.bff.exception.DownstreamServiceException;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+public class DownstreamResilienceTest {
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger failuresBeforeSuccess = new AtomicInteger();
+    private DisposableServer stubServer;
+    private WebClient webClient;
+
+    @BeforeEach
+    public void startStubServer() {
+        // Local stand-in for a downstream service: /slow answers after 300ms, /flaky fails
+        // until failuresBeforeSuccess reaches zero, /broken always fails
+        stubServer = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .get("/slow", (request, response) -> {
+                            hits.incrementAndGet();
+                            return response.sendString(Mono.just("ok").delayElement(Duration.ofMillis(300)));
+                        })
+                        .get("/flaky", (request, response) -> {
+                            hits.incrementAndGet();
+                            if (failuresBeforeSuccess.getAndDecrement() > 0) {
+                                return response.status(503).sendString(Mono.just("unavailable"));
+                            }
+                            return response.sendString(Mono.just("ok"));
+                        })
+                        .get("/broken", (request, response) -> {
+                            hits.incrementAndGet();
+                            return response.status(500).sendString(Mono.just("boom"));
+                        }))
+                .bindNow();
+        webClient = WebClient.create("http://localhost:" + stubServer.port());
+    }
+
+    @AfterEach
+    public void stopStubServer() {
+        stubServer.disposeNow();
+    }
+
+    private Mono<String> call(String path) {
+        return webClient.get()
+                .uri(path)
+                .retrieve()
+                .onStatus(status -> status.is5xxServerError(), response ->
+                        Mono.error(new DownstreamServiceException("Downstream error")))
+                .bodyToMono(String.class);
+    }
+
+    private DownstreamResilience resilience(int maxConcurrentCalls, int maxAttempts) {
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordExceptions(DownstreamServiceException.class)
+                .build();
+        BulkheadConfig bulkheadConfig = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+        RetryConfig retryConfig = RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                .waitDuration(Duration.ofMillis(10))
+                .retryExceptions(DownstreamServiceException.class)
+                .build();
+        return new DownstreamResilience(
+                CircuitBreakerRegistry.of(circuitBreakerConfig),
+                BulkheadRegistry.of(bulkheadConfig),
+                RetryRegistry.of(retryConfig));
+    }
+
+    @Test
+    public void testCircuitBreaker_OpensAndFailsFast() {
+        // Given
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordExceptions(DownstreamServiceException.class)
+                .build());
+        DownstreamResilience resilience = new DownstreamResilience(
+                registry, BulkheadRegistry.ofDefaults(), RetryRegistry.of(RetryConfig.custom().maxAttempts(1).build()));
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            assertThrows(DownstreamServiceException.class,
+                    () -> resilience.protect("accountService", call("/broken")).block());
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, registry.circuitBreaker("accountService").getState());
+        assertThrows(CallNotPermittedException.class,
+                () -> resilience.protect("accountService", call("/broken")).block());
+        assertEquals(4, hits.get(), "an open breaker must not reach the downstream");
+    }
+
+    @Test
+    public void testBulkhead_RejectsCallsAboveLimit() {
+        // Given
+        DownstreamResilience resilience = resilience(2, 1);
+
+        // When
+        List<String> results = Flux.range(0, 5)
+                .flatMap(i -> resilience.protect("transactionService", call("/slow"))
+                        .onErrorResume(BulkheadFullException.class, ex -> Mono.just("rejected")))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertEquals(2, results.stream().filter("ok"::equals).count());
+        assertEquals(3, results.stream().filter("rejected"::equals).count());
+        assertEquals(2, hits.get());
+    }
+
+    @Test
+    public void testRetry_RecoversFromTransientFailures() {
+        // Given
+        failuresBeforeSuccess.set(2);
+        DownstreamResilience resilience = resilience(10, 3);
+
+        // When
+        String result = resilience.protect("userService", call("/flaky")).block(Duration.ofSeconds(5));
+
+        // Then
+        assertEquals("ok", result);
+        assertEquals(3, hits.get());
+    }
+}
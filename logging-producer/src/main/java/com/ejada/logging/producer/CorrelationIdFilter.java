@@ -0,0 +1,200 @@
+package com.ejada.logging.producer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.ejada.logging.producer.LogPublisher.LogEvent;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Gives every request a correlation ID: the caller's X-Correlation-Id, or a new one. It is
+ * put in the MDC, where log events and outgoing calls pick it up, and echoed on the
+ * response.
+ * <p>
+ * This is also the one place requests are logged. Once the status is known, the request's
+ * Request event (its body, or else its path variables and query parameters) and Response
+ * event (the body written, with the endpoint, status and duration) are handed to
+ * RequestLogProducer, so sampling can keep every failed or slow request. Bodies are the
+ * objects the handler read and returned, captured by RequestLoggingAdvice; they are only
+ * serialized on the log sender thread.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+    public static final String CORRELATION_ID = "correlationId";
+
+    private static final String RESPONSE_LOG = CorrelationIdFilter.class.getName() + ".responseLog";
+    private static final String REQUEST_BODY = CorrelationIdFilter.class.getName() + ".requestBody";
+
+    // Longer caller-supplied IDs are replaced rather than stored
+    private static final int MAX_CORRELATION_ID_LENGTH = 64;
+
+    private final RequestLogProducer requestLogProducer;
+
+    public CorrelationIdFilter(RequestLogProducer requestLogProducer) {
+        this.requestLogProducer = requestLogProducer;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        Instant startedAt = Instant.now();
+        String correlationId = request.getHeader(CORRELATION_ID_HEADER);
+        if (correlationId == null || correlationId.isBlank() || correlationId.length() > MAX_CORRELATION_ID_LENGTH) {
+            correlationId = UUID.randomUUID().toString();
+        }
+        MDC.put(CORRELATION_ID, correlationId);
+        response.setHeader(CORRELATION_ID_HEADER, correlationId);
+        boolean failed = false;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failed = true;
+            throw e;
+        } finally {
+            if (request.isAsyncStarted()) {
+                // A streamed response is still being written; it is logged once complete
+                request.getAsyncContext().addListener(new ResponseLogListener(request, response, correlationId, startedAt, start));
+            } else {
+                sendLogs(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                        correlationId, startedAt, start);
+            }
+            MDC.remove(CORRELATION_ID);
+        }
+    }
+
+    private void sendLogs(HttpServletRequest request, int status, String correlationId, Instant startedAt, long start) {
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        String endpoint = endpoint(request);
+        LogEvent requestLog = new LogEvent(correlationId, endpoint, null, null, requestMessage(request), "Request", startedAt);
+        requestLogProducer.sendResponse(correlationId, endpoint, status, durationMs, List.of(requestLog),
+                request.getAttribute(RESPONSE_LOG));
+    }
+
+    // The body the handler read; without one, path variables and query parameters
+    private static Object requestMessage(HttpServletRequest request) {
+        Object body = request.getAttribute(REQUEST_BODY);
+        if (body != null) {
+            return body;
+        }
+        Map<String, Object> message = new LinkedHashMap<>();
+        if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> pathVariables) {
+            pathVariables.forEach((name, value) -> message.put(String.valueOf(name), value));
+        }
+        request.getParameterMap().forEach((name, values) -> message.put(name, values.length == 1 ? values[0] : values));
+        return message;
+    }
+
+    /**
+     * Logs this message as the Response. Returns false outside a filtered request, where the
+     * caller should send it directly.
+     */
+    public static boolean deferResponse(Object message) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null || MDC.get(CORRELATION_ID) == null) {
+            return false;
+        }
+        attributes.setAttribute(RESPONSE_LOG, message, RequestAttributes.SCOPE_REQUEST);
+        return true;
+    }
+
+    // Logs this message as the Response of a streamed request, from the thread writing it
+    public static void deferResponse(HttpServletRequest request, Object message) {
+        request.setAttribute(RESPONSE_LOG, message);
+    }
+
+    // Logs the body the handler read as the Request
+    public static void captureRequestBody(Object body) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && body != null) {
+            attributes.setAttribute(REQUEST_BODY, body, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Forwards the current request's correlation ID on outgoing WebClient calls. It is read
+     * when the call is subscribed, which for blocking calls is the request thread.
+     */
+    public static ExchangeFilterFunction propagation() {
+        return (request, next) -> {
+            String correlationId = MDC.get(CORRELATION_ID);
+            if (correlationId == null || request.headers().containsKey(CORRELATION_ID_HEADER)) {
+                return next.exchange(request);
+            }
+            return next.exchange(ClientRequest.from(request).header(CORRELATION_ID_HEADER, correlationId).build());
+        };
+    }
+
+    // The route pattern keeps IDs out of the endpoint, so latency can be grouped by it
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    // Sends a streamed request's logs once its response is complete; a failed stream is logged as a 500
+    private class ResponseLogListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final String correlationId;
+        private final Instant startedAt;
+        private final long start;
+        private volatile boolean failed;
+
+        ResponseLogListener(HttpServletRequest request, HttpServletResponse response, String correlationId,
+                            Instant startedAt, long start) {
+            this.request = request;
+            this.response = response;
+            this.correlationId = correlationId;
+            this.startedAt = startedAt;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            sendLogs(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                    correlationId, startedAt, start);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
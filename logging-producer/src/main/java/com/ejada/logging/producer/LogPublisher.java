@@ -0,0 +1,262 @@
+package com.ejada.logging.producer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.util.Utf8;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Sends request/response log events to the Logs topic without holding up the caller. Each
+ * call queues one immutable event; a single background thread serializes the payloads and
+ * hands them to a producer tuned for batching. When the queue is full the event is dropped
+ * and counted, or with the BLOCK policy the caller waits up to blockTimeout first.
+ * <p>
+ * Events are written in Avro binary with the writer schema's registry ID in front: a zero
+ * magic byte, the ID as a 4-byte big-endian int, then the record. The schemas live in the
+ * file-based registry (schemas/Logs-value/&lt;id&gt;.avsc), which the logging service reads
+ * to resolve the ID. A body longer than maxPayloadBytes once serialized is replaced by its
+ * size and the start of it (0 keeps every body whole).
+ */
+public class LogPublisher implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LogPublisher.class);
+
+    public static final String LOGS_TOPIC = "Logs";
+    public static final String LOGS_SUBJECT = "Logs-value";
+
+    private static final byte MAGIC_BYTE = 0;
+
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    /**
+     * One log event. Request events carry the request body; the single Response event of a
+     * request also carries the final HTTP status, how long the request took and the rate
+     * sampling kept it at. Fields that do not apply are null.
+     */
+    public record LogEvent(String correlationId, String endpoint, Integer httpStatus, Long durationMs, Double sampleRate,
+                           Object message, String messageType, Instant dateTime) {
+
+        public LogEvent(String correlationId, String endpoint, Integer httpStatus, Long durationMs,
+                        Object message, String messageType, Instant dateTime) {
+            this(correlationId, endpoint, httpStatus, durationMs, null, message, messageType, dateTime);
+        }
+
+        public static LogEvent of(String correlationId, String endpoint, Object message, String messageType) {
+            return new LogEvent(correlationId, endpoint, null, null, message, messageType, Instant.now());
+        }
+    }
+
+    /**
+     * A body cut to its start, logged as {"truncated":true,"bytes":<full size>,"preview":"<start>"}.
+     * Bodies captured already truncated are passed as one and sent as they are.
+     */
+    public record TruncatedBody(boolean truncated, long bytes, String preview) {
+
+        public TruncatedBody(long bytes, String preview) {
+            this(true, bytes, preview);
+        }
+    }
+
+    private record KeyedEvent(String key, LogEvent event) {
+    }
+
+    private static final int DRAIN_BATCH = 512;
+    // Room left in maxPayloadBytes for the fields around a truncated body's preview
+    private static final int TRUNCATION_OVERHEAD = 64;
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final String service;
+    private final int schemaId;
+    private final int maxPayloadBytes;
+    private final Schema messageTypeSchema;
+    // Schema 1 predates sampleRate
+    private final boolean writesSampleRate;
+    private final GenericDatumWriter<GenericData.Record> writer;
+    private final BlockingQueue<KeyedEvent> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final Duration blockTimeout;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong truncated = new AtomicLong();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Only the sender thread encodes, so one record, buffer and encoder are reused throughout
+    private final GenericData.Record record;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+    private BinaryEncoder encoder;
+    private final Thread sender;
+    private volatile boolean running = true;
+
+    public LogPublisher(KafkaTemplate<String, byte[]> kafkaTemplate, String service, int schemaId, Schema schema,
+                        int maxPayloadBytes, int capacity, OverflowPolicy overflowPolicy, Duration blockTimeout) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.service = service;
+        this.schemaId = schemaId;
+        this.maxPayloadBytes = maxPayloadBytes;
+        this.messageTypeSchema = schema.getField("messageType").schema();
+        this.writesSampleRate = schema.getField("sampleRate") != null;
+        this.writer = new GenericDatumWriter<>(schema);
+        this.record = new GenericData.Record(schema);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeout = blockTimeout;
+        this.sender = Thread.ofPlatform().name("kafka-log-sender").daemon().start(this::drain);
+    }
+
+    /**
+     * Reads a writer schema from the schema registry, e.g. schemas/Logs-value/1.avsc.
+     */
+    public static Schema loadSchema(Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            return new Schema.Parser().parse(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read log schema " + resource.getDescription(), e);
+        }
+    }
+
+    /**
+     * Queues a log event keyed by the given ID (null spreads events over partitions).
+     * Returns false if the event was dropped.
+     */
+    public boolean publish(String key, LogEvent event) {
+        KeyedEvent keyed = new KeyedEvent(key, event);
+        boolean queued = queue.offer(keyed);
+        if (!queued && overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                queued = queue.offer(keyed, blockTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!queued) {
+            dropped.incrementAndGet();
+        }
+        return queued;
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getTruncated() {
+        return truncated.get();
+    }
+
+    public int getQueued() {
+        return queue.size();
+    }
+
+    private void drain() {
+        List<KeyedEvent> batch = new ArrayList<>(DRAIN_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                KeyedEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, DRAIN_BATCH - 1);
+                for (KeyedEvent keyed : batch) {
+                    send(keyed.key(), keyed.event());
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // A serialization or broker failure loses the event, never the sender thread
+    private void send(String key, LogEvent event) {
+        try {
+            kafkaTemplate.send(LOGS_TOPIC, key, encode(event)).whenComplete((result, ex) -> {
+                if (ex != null) {
+                    dropped.incrementAndGet();
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            dropped.incrementAndGet();
+            log.warn("Error sending log event for {}", event.correlationId(), e);
+        }
+    }
+
+    private byte[] encode(LogEvent event) throws IOException {
+        Instant dateTime = event.dateTime();
+        record.put("service", service);
+        record.put("correlationId", event.correlationId());
+        record.put("endpoint", event.endpoint());
+        record.put("httpStatus", event.httpStatus());
+        record.put("durationMs", event.durationMs());
+        if (writesSampleRate) {
+            record.put("sampleRate", event.sampleRate());
+        }
+        record.put("messageType", new GenericData.EnumSymbol(messageTypeSchema, event.messageType()));
+        record.put("dateTime", dateTime.getEpochSecond() * 1_000_000 + dateTime.getNano() / 1_000);
+        record.put("message", new Utf8(body(event.message())));
+
+        buffer.reset();
+        buffer.write(MAGIC_BYTE);
+        buffer.write(schemaId >>> 24);
+        buffer.write(schemaId >>> 16);
+        buffer.write(schemaId >>> 8);
+        buffer.write(schemaId);
+        encoder = EncoderFactory.get().directBinaryEncoder(buffer, encoder);
+        writer.write(record, encoder);
+        encoder.flush();
+        return buffer.toByteArray();
+    }
+
+    // The body is the one thing still written as JSON, straight to UTF-8 bytes. A truncated
+    // one stays valid JSON.
+    private byte[] body(Object message) throws IOException {
+        if (message instanceof TruncatedBody) {
+            truncated.incrementAndGet();
+            return objectMapper.writeValueAsBytes(message);
+        }
+        byte[] body = objectMapper.writeValueAsBytes(message != null ? message : new HashMap<>());
+        if (maxPayloadBytes <= 0 || body.length <= maxPayloadBytes) {
+            return body;
+        }
+        truncated.incrementAndGet();
+        return objectMapper.writeValueAsBytes(new TruncatedBody(body.length,
+                new String(body, 0, Math.max(0, maxPayloadBytes - TRUNCATION_OVERHEAD), StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Sends what is still queued and flushes the producer.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            sender.join(blockTimeout.toMillis() + 5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        kafkaTemplate.flush();
+    }
+}
@@ -0,0 +1,77 @@
+package com.ejada.logging.producer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides once per request whether its log events are sent. Failed requests (status at or
+ * above alwaysLogMinStatus) and requests slower than alwaysLogSlowerThan are always kept;
+ * the rest are kept at the endpoint's sampling rate, or defaultRate if it has none.
+ * Endpoint rates are looked up by the full endpoint
+ * ("GET /transactions/accounts/{accountId}") and then by its route pattern alone
+ * ("/transactions/accounts/{accountId}").
+ * <p>
+ * The decision is a hash of the correlation ID rather than a random draw, so every service
+ * a request passes through keeps or drops it alike and sampled requests stay complete
+ * end to end.
+ */
+public class LogSampler {
+
+    private static final int BUCKETS = 10_000;
+
+    private final double defaultRate;
+    private final Map<String, Double> endpointRates;
+    private final int alwaysLogMinStatus;
+    private final long alwaysLogSlowerThanMs;
+    private final AtomicLong sampledOut = new AtomicLong();
+
+    public LogSampler(double defaultRate, Map<String, Double> endpointRates, int alwaysLogMinStatus, Duration alwaysLogSlowerThan) {
+        this.defaultRate = defaultRate;
+        this.endpointRates = Map.copyOf(endpointRates);
+        this.alwaysLogMinStatus = alwaysLogMinStatus;
+        this.alwaysLogSlowerThanMs = alwaysLogSlowerThan.toMillis();
+    }
+
+    public boolean shouldLog(String correlationId, String endpoint, int httpStatus, long durationMs) {
+        return sampleRate(correlationId, endpoint, httpStatus, durationMs) > 0;
+    }
+
+    /**
+     * The rate the request was kept at: 1 for a request that is always kept, the endpoint's
+     * rate for one kept by sampling, and 0 for one that is dropped. A kept request stands for
+     * 1 / rate requests of its endpoint, which is how the logging service weights it.
+     */
+    public double sampleRate(String correlationId, String endpoint, int httpStatus, long durationMs) {
+        if (httpStatus >= alwaysLogMinStatus || durationMs > alwaysLogSlowerThanMs || correlationId == null) {
+            return 1.0;
+        }
+        double rate = rate(endpoint);
+        if (bucket(correlationId) < rate * BUCKETS) {
+            return rate;
+        }
+        sampledOut.incrementAndGet();
+        return 0.0;
+    }
+
+    public long getSampledOut() {
+        return sampledOut.get();
+    }
+
+    double rate(String endpoint) {
+        if (endpoint == null) {
+            return defaultRate;
+        }
+        Double rate = endpointRates.get(endpoint);
+        if (rate == null) {
+            int space = endpoint.indexOf(' ');
+            rate = space >= 0 ? endpointRates.get(endpoint.substring(space + 1)) : null;
+        }
+        return rate != null ? rate : defaultRate;
+    }
+
+    // String.hashCode is the same in every JVM; the multiply spreads similar IDs apart
+    private static int bucket(String correlationId) {
+        return Math.floorMod(correlationId.hashCode() * 0x9E3779B9, BUCKETS);
+    }
+}
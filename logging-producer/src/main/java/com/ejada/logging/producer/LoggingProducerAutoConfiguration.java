@@ -0,0 +1,121 @@
+package com.ejada.logging.producer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.avro.Schema;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sets up request logging in any service with this jar on its classpath: a RequestLogProducer
+ * configured from the logs.* properties and, in a servlet application, CorrelationIdFilter
+ * and RequestLoggingAdvice. Reactive services register their own web filter around the
+ * RequestLogProducer.
+ * <p>
+ * Every property has a default here, so a service sets only what it changes:
+ * <ul>
+ * <li>logs.producer.queue-capacity (10000), overflow-policy (DROP), block-timeout (50ms):
+ * events are queued per call and sent from a background thread. A full queue drops the
+ * event (counted) or, with BLOCK, waits up to block-timeout.</li>
+ * <li>logs.producer.kafka.*: passed as-is to the log producer, over the service's
+ * spring.kafka.producer settings and the batching defaults in LOG_PRODUCER_DEFAULTS.</li>
+ * <li>logs.schema-registry.location (classpath:schemas/), logs.producer.schema-id (2): events
+ * are Avro binary written with that schema from the file-based registry
+ * (&lt;location&gt;Logs-value/&lt;id&gt;.avsc). The logging service resolves the ID from its
+ * own copy, so a new version is added there first.</li>
+ * <li>logs.sampling.rate (0.1), endpoint-rates[&lt;route pattern&gt;], always-log-min-status
+ * (400), always-log-slower-than (1s): see LogSampler.</li>
+ * <li>logs.payload.max-bytes (4096): longer bodies are cut to a preview; 0 keeps them whole.</li>
+ * </ul>
+ */
+@AutoConfiguration(after = KafkaAutoConfiguration.class)
+public class LoggingProducerAutoConfiguration {
+
+    // Larger, compressed batches than the business producers use; a slow broker costs log
+    // events (max.block.ms) rather than request threads
+    static final Map<String, String> LOG_PRODUCER_DEFAULTS = Map.of(
+            ProducerConfig.LINGER_MS_CONFIG, "20",
+            ProducerConfig.BATCH_SIZE_CONFIG, "65536",
+            ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4",
+            ProducerConfig.BUFFER_MEMORY_CONFIG, "16777216",
+            ProducerConfig.MAX_BLOCK_MS_CONFIG, "1000",
+            ProducerConfig.ACKS_CONFIG, "1");
+
+    /**
+     * Request/response logs get their own producer, tuned by logs.producer.kafka.* for
+     * batching and compression, so log volume never delays the business topics. Events are
+     * written with schema logs.producer.schema-id from the schema registry. The logs.*
+     * metrics are registered when the service has a MeterRegistry.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public RequestLogProducer requestLogProducer(KafkaProperties kafkaProperties, Environment environment,
+                                                 ResourceLoader resourceLoader, ObjectProvider<MeterRegistry> meterRegistry,
+                                                 @Value("${spring.application.name}") String serviceName,
+                                                 @Value("${logs.schema-registry.location:classpath:schemas/}") String schemaRegistryLocation,
+                                                 @Value("${logs.producer.schema-id:2}") int schemaId,
+                                                 @Value("${logs.payload.max-bytes:4096}") int maxPayloadBytes,
+                                                 @Value("${logs.sampling.rate:0.1}") double samplingRate,
+                                                 @Value("${logs.sampling.always-log-min-status:400}") int alwaysLogMinStatus,
+                                                 @Value("${logs.sampling.always-log-slower-than:1s}") Duration alwaysLogSlowerThan,
+                                                 @Value("${logs.producer.queue-capacity:10000}") int queueCapacity,
+                                                 @Value("${logs.producer.overflow-policy:DROP}") LogPublisher.OverflowPolicy overflowPolicy,
+                                                 @Value("${logs.producer.block-timeout:50ms}") Duration blockTimeout) {
+        KafkaTemplate<String, byte[]> logTemplate = new KafkaTemplate<>(
+                new DefaultKafkaProducerFactory<>(logProducerProperties(kafkaProperties, environment)));
+        Schema logSchema = LogPublisher.loadSchema(resourceLoader.getResource(
+                schemaRegistryLocation + LogPublisher.LOGS_SUBJECT + "/" + schemaId + ".avsc"));
+        LogPublisher logPublisher = new LogPublisher(logTemplate, serviceName, schemaId, logSchema, maxPayloadBytes,
+                queueCapacity, overflowPolicy, blockTimeout);
+        LogSampler logSampler = new LogSampler(samplingRate, Binder.get(environment)
+                .bind("logs.sampling.endpoint-rates", Bindable.mapOf(String.class, Double.class))
+                .orElse(Map.of()), alwaysLogMinStatus, alwaysLogSlowerThan);
+        RequestLogProducer requestLogProducer = new RequestLogProducer(logPublisher, logSampler, serviceName);
+        meterRegistry.ifAvailable(requestLogProducer::bindTo);
+        return requestLogProducer;
+    }
+
+    static Map<String, Object> logProducerProperties(KafkaProperties kafkaProperties, Environment environment) {
+        Map<String, Object> producerProperties = new HashMap<>(kafkaProperties.buildProducerProperties(null));
+        producerProperties.putAll(LOG_PRODUCER_DEFAULTS);
+        producerProperties.putAll(Binder.get(environment)
+                .bind("logs.producer.kafka", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of()));
+        producerProperties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        return producerProperties;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class ServletRequestLogging {
+
+        @Bean
+        public CorrelationIdFilter correlationIdFilter(RequestLogProducer requestLogProducer) {
+            return new CorrelationIdFilter(requestLogProducer);
+        }
+
+        @Bean
+        public RequestLoggingAdvice requestLoggingAdvice() {
+            return new RequestLoggingAdvice();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.ejada.logging.producer;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.ejada.logging.producer.LogPublisher.LogEvent;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * What the correlation filters hand a finished request to: it applies sampling and queues
+ * the request's log events on the LogPublisher. Created by LoggingProducerAutoConfiguration,
+ * which also closes it on shutdown.
+ */
+public class RequestLogProducer implements AutoCloseable {
+
+    private final LogPublisher logPublisher;
+    private final LogSampler logSampler;
+    private final String serviceName;
+    private Timer logHandoff;
+
+    public RequestLogProducer(LogPublisher logPublisher, LogSampler logSampler, String serviceName) {
+        this.logPublisher = logPublisher;
+        this.logSampler = logSampler;
+        this.serviceName = serviceName;
+    }
+
+    /**
+     * Publishes logs.dropped, logs.truncated, logs.sampled.out, logs.handoff and logs.queued.
+     */
+    public void bindTo(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("logs.dropped", logPublisher, LogPublisher::getDropped)
+                .description("Log events dropped because the queue was full or the send failed")
+                .register(meterRegistry);
+        FunctionCounter.builder("logs.truncated", logPublisher, LogPublisher::getTruncated)
+                .description("Log events sent with their body cut to logs.payload.max-bytes")
+                .register(meterRegistry);
+        FunctionCounter.builder("logs.sampled.out", logSampler, LogSampler::getSampledOut)
+                .description("Requests whose log events were not sent because of sampling")
+                .register(meterRegistry);
+        logHandoff = Timer.builder("logs.handoff")
+                .description("Time a finished request spends handing its log events to the log sender thread")
+                .register(meterRegistry);
+        Gauge.builder("logs.queued", logPublisher, LogPublisher::getQueued)
+                .description("Log events waiting to be sent")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends a finished request's Request events and its one Response event, with the final
+     * status, duration and sample rate, unless sampling drops the request. Keyed by service and
+     * correlation ID so a request's logs stay in order on one partition while different
+     * requests spread across all of them. The time this takes is recorded as logs.handoff.
+     */
+    public void sendResponse(String correlationId, String endpoint, int httpStatus, long durationMs,
+                             List<LogEvent> requests, Object message) {
+        long start = System.nanoTime();
+        try {
+            double sampleRate = logSampler.sampleRate(correlationId, endpoint, httpStatus, durationMs);
+            if (sampleRate == 0) {
+                return;
+            }
+            String key = logKey(correlationId);
+            for (LogEvent request : requests) {
+                logPublisher.publish(key, request);
+            }
+            logPublisher.publish(key, new LogEvent(correlationId, endpoint, httpStatus, durationMs, sampleRate,
+                    message, "Response", Instant.now()));
+        } finally {
+            if (logHandoff != null) {
+                logHandoff.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private String logKey(String id) {
+        return id != null ? serviceName + ":" + id : null;
+    }
+
+    @Override
+    public void close() {
+        logPublisher.close();
+    }
+}
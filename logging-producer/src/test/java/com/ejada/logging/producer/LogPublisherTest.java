@@ -0,0 +1,258 @@
+package com.ejada.logging.producer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class LogPublisherTest {
+
+    private static final Schema SCHEMA = LogPublisher.loadSchema(new ClassPathResource("schemas/Logs-value/2.avsc"));
+
+    // KafkaTemplate closes a plain producer after every send; this one stays usable, like a
+    // producer from DefaultKafkaProducerFactory
+    private static class LogsProducer extends MockProducer<String, byte[]> {
+
+        LogsProducer() {
+            super(true, null, new StringSerializer(), new ByteArraySerializer());
+        }
+
+        @Override
+        public void close(Duration timeout) {
+        }
+    }
+
+    private static KafkaTemplate<String, byte[]> template(LogsProducer producer) {
+        return new KafkaTemplate<>(() -> producer);
+    }
+
+    private static LogPublisher publisher(LogsProducer producer, int maxPayloadBytes, int capacity) {
+        return new LogPublisher(template(producer), "bff", 2, SCHEMA, maxPayloadBytes, capacity, LogPublisher.OverflowPolicy.DROP, Duration.ofMillis(50));
+    }
+
+    private static GenericRecord decode(byte[] value) throws IOException {
+        assertEquals(0, value[0]);
+        assertEquals(2, value[4]);
+        return new GenericDatumReader<GenericRecord>(SCHEMA).read(null, DecoderFactory.get().binaryDecoder(value, 5, value.length - 5, null));
+    }
+
+    @Test
+    public void testPublish_SendsKeyedEventsInOrder() throws Exception {
+        // Given
+        LogsProducer producer = new LogsProducer();
+        LogPublisher publisher = publisher(producer, 0, 100);
+
+        // When
+        publisher.publish("bff:request-1", LogPublisher.LogEvent.of("request-1", "GET /bff/dashboard/{userId}", Map.of("step", 1), "Request"));
+        publisher.publish("bff:request-1", new LogPublisher.LogEvent("request-1", "GET /bff/dashboard/{userId}", 200, 12L, 0.1, Map.of("step", 2), "Response", Instant.now()));
+        publisher.publish(null, LogPublisher.LogEvent.of(null, null, Map.of("step", 3), "Request"));
+        publisher.close();
+
+        // Then
+        List<ProducerRecord<String, byte[]>> sent = producer.history();
+        assertEquals(3, sent.size());
+        assertEquals("Logs", sent.get(0).topic());
+        assertEquals("bff:request-1", sent.get(0).key());
+        GenericRecord request = decode(sent.get(0).value());
+        assertEquals("{\"step\":1}", request.get("message").toString());
+        assertEquals("bff", request.get("service").toString());
+        assertEquals("request-1", request.get("correlationId").toString());
+        assertEquals("GET /bff/dashboard/{userId}", request.get("endpoint").toString());
+        assertNull(request.get("httpStatus"));
+        assertNull(request.get("sampleRate"));
+        GenericRecord response = decode(sent.get(1).value());
+        assertEquals("Response", response.get("messageType").toString());
+        assertEquals(200, response.get("httpStatus"));
+        assertEquals(12L, response.get("durationMs"));
+        assertEquals(0.1, response.get("sampleRate"));
+        assertNull(decode(sent.get(2).value()).get("correlationId"));
+        assertEquals(0, publisher.getDropped());
+    }
+
+    @Test
+    public void testPublish_TruncatesLargeBodies() throws Exception {
+        // Given
+        LogsProducer producer = new LogsProducer();
+        LogPublisher publisher = publisher(producer, 256, 100);
+
+        // When
+        publisher.publish(null, LogPublisher.LogEvent.of(null, null, Map.of("small", "x"), "Request"));
+        publisher.publish(null, LogPublisher.LogEvent.of(null, null, Map.of("large", "x".repeat(10_000)), "Response"));
+        publisher.close();
+
+        // Then
+        assertEquals("{\"small\":\"x\"}", decode(producer.history().get(0).value()).get("message").toString());
+        Map<?, ?> truncated = new ObjectMapper().readValue(decode(producer.history().get(1).value()).get("message").toString(), Map.class);
+        assertEquals(true, truncated.get("truncated"));
+        assertEquals(10_012, truncated.get("bytes"));
+        assertTrue(truncated.get("preview").toString().startsWith("{\"large\":\"xxx"));
+        assertTrue(producer.history().get(1).value().length < 512);
+        assertEquals(1, publisher.getTruncated());
+    }
+
+    @Test
+    public void testPublish_DropsWhenQueueIsFull() throws Exception {
+        // Given: a broker that stops accepting records
+        CountDownLatch brokerDown = new CountDownLatch(1);
+        LogsProducer producer = new LogsProducer() {
+            @Override
+            public synchronized Future<RecordMetadata> send(ProducerRecord<String, byte[]> record, Callback callback) {
+                try {
+                    brokerDown.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.send(record, callback);
+            }
+        };
+        LogPublisher publisher = publisher(producer, 0, 2);
+
+        // When
+        int accepted = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            if (publisher.publish(null, LogPublisher.LogEvent.of(null, null, Map.of("i", i), "Request"))) {
+                accepted++;
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        brokerDown.countDown();
+        publisher.close();
+
+        // Then
+        assertTrue(accepted <= 5, "accepted " + accepted);
+        assertEquals(10 - accepted, publisher.getDropped());
+        assertTrue(elapsed.compareTo(Duration.ofMillis(500)) < 0, "callers must not wait for the broker, took " + elapsed);
+    }
+
+    /**
+     * Caller-side cost of one log call: the previous synchronous path (serialize, then
+     * KafkaTemplate.send) against queueing the event. Skipped by default; run with
+     * mvn test -Dtest=LogPublisherTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void benchmarkPerCallOverhead() throws Exception {
+        int calls = 200_000;
+        Map<String, Object> payload = Map.of("userId", "0f8fad5b-d9cb-469f-a165-70867728950e", "status", "ACTIVE", "balance", 1250.75);
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        // The JSON map the services sent before, serialized as JsonSerializer did inside the producer
+        JsonSerializer<HashMap<String, Object>> jsonSerializer = new JsonSerializer<>();
+        KafkaTemplate<String, byte[]> syncTemplate = template(new LogsProducer());
+        Runnable synchronous = () -> {
+            try {
+                HashMap<String, Object> log = new HashMap<>();
+                log.put("message", objectMapper.writeValueAsString(payload));
+                log.put("messageType", "Request");
+                log.put("dateTime", Instant.now().toString());
+                Future<?> ignored = syncTemplate.send("Logs", jsonSerializer.serialize("Logs", log));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        LogPublisher publisher = publisher(new LogsProducer(), 0, calls * 2);
+        Runnable queued = () -> publisher.publish("bff:key", LogPublisher.LogEvent.of("key", "GET /bff/dashboard/{userId}", payload, "Request"));
+
+        double syncNanos = nanosPerCall(synchronous, calls);
+        double queuedNanos = nanosPerCall(queued, calls);
+        publisher.close();
+
+        System.out.printf("%-24s %10.0f ns/call%n", "serialize + send", syncNanos);
+        System.out.printf("%-24s %10.0f ns/call%n", "queue (LogPublisher)", queuedNanos);
+    }
+
+    // Shaped like the BFF's dashboard response
+    private static Map<String, Object> dashboard(int accounts, int transactionsPerAccount) {
+        List<Map<String, Object>> accountList = new ArrayList<>();
+        for (int a = 0; a < accounts; a++) {
+            List<Map<String, Object>> transactions = new ArrayList<>();
+            for (int t = 0; t < transactionsPerAccount; t++) {
+                transactions.add(Map.of("transactionId", UUID.randomUUID(), "accountId", UUID.randomUUID(), "amount", 125.40,
+                        "description", "Card payment", "createdAt", "2026-10-01T10:00:00Z"));
+            }
+            accountList.add(Map.of("accountId", UUID.randomUUID(), "accountNumber", "ACCT-" + a, "accountType", "CHECKING",
+                    "balance", 1250.75, "status", "ACTIVE", "recentTransactions", transactions));
+        }
+        return Map.of("userId", UUID.randomUUID(), "username", "jdoe", "email", "jdoe@example.com", "firstName", "John",
+                "lastName", "Doe", "accounts", accountList);
+    }
+
+    private static long bytesSent(LogSampler sampler, int maxPayloadBytes, int requests, Map<String, Object> dashboard) {
+        LogsProducer producer = new LogsProducer();
+        LogPublisher publisher = publisher(producer, maxPayloadBytes, requests * 2);
+        String endpoint = "GET /bff/dashboard/{userId}";
+        for (int i = 0; i < requests; i++) {
+            String correlationId = UUID.randomUUID().toString();
+            // One request in a hundred fails and one in a hundred is slow
+            int status = i % 100 == 0 ? 502 : 200;
+            long durationMs = i % 100 == 1 ? 2500 : 40;
+            if (sampler.shouldLog(correlationId, endpoint, status, durationMs)) {
+                publisher.publish(correlationId, LogPublisher.LogEvent.of(correlationId, endpoint, Map.of("userId", dashboard.get("userId")), "Request"));
+                publisher.publish(correlationId, new LogPublisher.LogEvent(correlationId, endpoint, status, durationMs, dashboard, "Response", Instant.now()));
+            }
+        }
+        publisher.close();
+        return producer.history().stream().mapToLong(record -> record.value().length).sum();
+    }
+
+    /**
+     * Bytes sent to the Logs topic for dashboard requests (5 accounts with 50 transactions
+     * each) with every request logged in full, against the default policy: 10% sampling,
+     * 4 KB bodies, failed and slow requests always kept. Skipped by default; run with
+     * mvn test -Dtest=LogPublisherTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void benchmarkLogVolume() {
+        int requests = 5_000;
+        Map<String, Object> dashboard = dashboard(5, 50);
+
+        long full = bytesSent(new LogSampler(1.0, Map.of(), 400, Duration.ofSeconds(1)), 0, requests, dashboard);
+        LogSampler sampler = new LogSampler(0.1, Map.of(), 400, Duration.ofSeconds(1));
+        long sampled = bytesSent(sampler, 4096, requests, dashboard);
+
+        System.out.printf("%-28s %12d bytes%n", "every request, full bodies", full);
+        System.out.printf("%-28s %12d bytes  (%d requests sampled out, x%.0f less)%n", "sampled, truncated", sampled,
+                sampler.getSampledOut(), full / (double) sampled);
+        assertTrue(sampled * 10 < full);
+    }
+
+    private static double nanosPerCall(Runnable call, int calls) {
+        for (int i = 0; i < calls / 10; i++) {
+            call.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            call.run();
+        }
+        return (System.nanoTime() - start) / (double) calls;
+    }
+}
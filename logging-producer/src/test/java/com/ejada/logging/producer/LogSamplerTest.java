@@ -0,0 +1,70 @@
+package com.ejada.logging.producer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+public class LogSamplerTest {
+
+    private static final String DASHBOARD = "GET /bff/dashboard/{userId}";
+
+    private static int kept(LogSampler sampler, String endpoint, int requests) {
+        int kept = 0;
+        for (int i = 0; i < requests; i++) {
+            if (sampler.shouldLog(UUID.randomUUID().toString(), endpoint, 200, 40)) {
+                kept++;
+            }
+        }
+        return kept;
+    }
+
+    @Test
+    public void testShouldLog_SamplesPerEndpointRate() {
+        // Given: the rate as it is bound from logs.sampling.endpoint-rates[...]
+        Map<String, Double> endpointRates = new Binder(new MapConfigurationPropertySource(
+                Map.of("logs.sampling.endpoint-rates[/bff/dashboard/{userId}]", "0.01")))
+                .bind("logs.sampling.endpoint-rates", Bindable.mapOf(String.class, Double.class))
+                .get();
+        LogSampler sampler = new LogSampler(0.2, endpointRates, 400, Duration.ofSeconds(1));
+
+        // When
+        int dashboard = kept(sampler, DASHBOARD, 20_000);
+        int other = kept(sampler, "GET /bff/users/{userId}", 20_000);
+
+        // Then
+        assertEquals(0.01, sampler.rate(DASHBOARD));
+        assertTrue(dashboard > 100 && dashboard < 300, "kept " + dashboard);
+        assertTrue(other > 3_600 && other < 4_400, "kept " + other);
+        assertEquals(40_000 - dashboard - other, sampler.getSampledOut());
+        // A kept request reports the rate it was kept at, so the logging service can weight it
+        String kept = Stream.generate(() -> UUID.randomUUID().toString())
+                .filter(id -> sampler.sampleRate(id, DASHBOARD, 200, 40) > 0).findFirst().orElseThrow();
+        assertEquals(0.01, sampler.sampleRate(kept, DASHBOARD, 200, 40));
+    }
+
+    @Test
+    public void testShouldLog_KeepsFailedAndSlowRequests() {
+        // Given
+        LogSampler sampler = new LogSampler(0.0, Map.of(), 400, Duration.ofSeconds(1));
+        String correlationId = UUID.randomUUID().toString();
+
+        // Then
+        assertFalse(sampler.shouldLog(correlationId, DASHBOARD, 200, 40));
+        assertTrue(sampler.shouldLog(correlationId, DASHBOARD, 404, 40));
+        assertTrue(sampler.shouldLog(correlationId, DASHBOARD, 503, 40));
+        assertTrue(sampler.shouldLog(correlationId, DASHBOARD, 200, 1500));
+        assertEquals(1.0, sampler.sampleRate(correlationId, DASHBOARD, 503, 40));
+        // The same correlation ID gets the same decision in every service
+        LogSampler otherService = new LogSampler(0.5, Map.of(), 400, Duration.ofSeconds(1));
+        assertEquals(otherService.shouldLog("request-1", "GET /users/{userId}", 200, 40),
+                new LogSampler(0.5, Map.of(), 400, Duration.ofSeconds(1)).shouldLog("request-1", "POST /accounts", 200, 40));
+    }
+}
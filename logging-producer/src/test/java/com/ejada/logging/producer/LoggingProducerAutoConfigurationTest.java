@@ -0,0 +1,75 @@
+package com.ejada.logging.producer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.mock.env.MockEnvironment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class LoggingProducerAutoConfigurationTest {
+
+    private static final AutoConfigurations CONFIGURATIONS =
+            AutoConfigurations.of(KafkaAutoConfiguration.class, LoggingProducerAutoConfiguration.class);
+
+    // As SpringApplication does, so durations such as "1s" convert
+    private static final ApplicationConversionService CONVERSION_SERVICE = new ApplicationConversionService();
+
+    @Test
+    public void testServletApplication_GetsFilterAdviceAndMetrics() {
+        new WebApplicationContextRunner()
+                .withInitializer(context -> context.getBeanFactory().setConversionService(CONVERSION_SERVICE))
+                .withConfiguration(CONFIGURATIONS)
+                .withPropertyValues("spring.application.name=users")
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .run(context -> {
+                    // Then
+                    assertThat(context).hasSingleBean(RequestLogProducer.class)
+                            .hasSingleBean(CorrelationIdFilter.class)
+                            .hasSingleBean(RequestLoggingAdvice.class);
+                    MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+                    assertThat(meterRegistry.find("logs.dropped").functionCounter()).isNotNull();
+                    assertThat(meterRegistry.find("logs.queued").gauge()).isNotNull();
+                    assertThat(meterRegistry.find("logs.handoff").timer()).isNotNull();
+                });
+    }
+
+    @Test
+    public void testLogProducerProperties_DefaultsUnderServiceOverrides() {
+        // Given: a service that only changes acks
+        MockEnvironment environment = new MockEnvironment().withProperty("logs.producer.kafka.acks", "all");
+
+        // When
+        Map<String, Object> properties = LoggingProducerAutoConfiguration.logProducerProperties(new KafkaProperties(), environment);
+
+        // Then
+        assertThat(properties).containsEntry(ProducerConfig.ACKS_CONFIG, "all")
+                .containsEntry(ProducerConfig.LINGER_MS_CONFIG, "20")
+                .containsEntry(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4")
+                .containsEntry(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+    }
+
+    @Test
+    public void testNonServletApplication_GetsOnlyTheProducer() {
+        new ApplicationContextRunner()
+                .withInitializer(context -> context.getBeanFactory().setConversionService(CONVERSION_SERVICE))
+                .withConfiguration(CONFIGURATIONS)
+                .withPropertyValues("spring.application.name=bff")
+                .run(context -> {
+                    // Then
+                    assertThat(context).hasSingleBean(RequestLogProducer.class)
+                            .doesNotHaveBean(CorrelationIdFilter.class);
+                });
+    }
+}
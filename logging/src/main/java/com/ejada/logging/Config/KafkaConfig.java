@@ -1,20 +1,69 @@
 package com.ejada.logging.Config;
 
+import java.time.Duration;
+
 import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
 
 @Configuration
 public class KafkaConfig {
 
+    public static final String LOGS_DLT = "Logs-dlt";
+
+    // Partitions bound how many listener threads and instances can consume Logs in
+    // parallel. Kafka can add partitions to an existing topic but never remove them.
+    @Value("${logs.topic.partitions:6}")
+    private int partitions;
+
+    @Value("${logs.consumer.retry.initial-interval:1s}")
+    private Duration retryInitialInterval;
+
+    @Value("${logs.consumer.retry.max-interval:30s}")
+    private Duration retryMaxInterval;
+
+    @Value("${logs.consumer.retry.max-retries:6}")
+    private int retryMaxRetries;
+
     @Bean
     public NewTopic topic()
     {
         return TopicBuilder.name("Logs")
-                .partitions(1)
+                .partitions(partitions)
                 .replicas(1)
                 .build();
     }
 
+    // A dead letter goes to the same partition it came from, so Logs-dlt has as many as Logs
+    @Bean
+    public NewTopic deadLetterTopic()
+    {
+        return TopicBuilder.name(LOGS_DLT)
+                .partitions(partitions)
+                .replicas(1)
+                .build();
+    }
+
+    /**
+     * Used by the listener container in place of the default handler, which retries a
+     * failed batch ten times back to back and then skips it. A batch the database rejects
+     * is retried with exponential backoff, the consumer paused in between, so a short
+     * outage costs no logs. Once the retries are used up, its records are published
+     * unchanged to Logs-dlt and the partition moves on.
+     */
+    @Bean
+    public DefaultErrorHandler logsErrorHandler(KafkaOperations<String, byte[]> kafkaTemplate) {
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(retryMaxRetries);
+        backOff.setInitialInterval(retryInitialInterval.toMillis());
+        backOff.setMultiplier(2);
+        backOff.setMaxInterval(retryMaxInterval.toMillis());
+        return new DefaultErrorHandler(new DeadLetterPublishingRecoverer(kafkaTemplate), backOff);
+    }
+
 }
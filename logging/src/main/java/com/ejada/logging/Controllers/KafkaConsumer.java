@@ -1,7 +1,9 @@
 package com.ejada.logging.Controllers;
 
-import java.util.HashMap;
+import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
@@ -12,19 +14,24 @@ import com.ejada.logging.Services.LogsService;
 @Service
 public class KafkaConsumer {
 
+    private static final Logger log = LoggerFactory.getLogger(KafkaConsumer.class);
+
     @Autowired
     private LogsService logsService;
 
-    @KafkaListener(topics = "Logs", groupId = "logging-group")
-    public void listen(HashMap<String,Object> message) {
+    // Each poll (up to max-poll-records) is written as one JDBC batch, and the offsets are
+    // committed only after it returns. A database error is rethrown to the container's
+    // logsErrorHandler, which retries the batch with backoff and then sends it to Logs-dlt.
+    // One consumer thread per partition by default; a thread beyond the partition count
+    // would get no records.
+    @KafkaListener(topics = "Logs", groupId = "logging-group", batch = "true",
+            concurrency = "${logs.consumer.concurrency:${logs.topic.partitions:6}}")
+    public void listen(List<byte[]> messages) {
         try {
-            // Process the incoming message
-            System.out.println("Received message: " + message);
-            logsService.saveLog(message);
-            System.out.println("Message processed successfully");
+            logsService.saveEncodedLogs(messages);
         } catch (Exception e) {
-            System.err.println("Error processing message: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Error saving {} log messages, handing them to logsErrorHandler", messages.size(), e);
+            throw e;
         }
     }
 
@@ -0,0 +1,64 @@
+package com.ejada.logging.Controllers;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ejada.logging.Models.MessageType;
+import com.ejada.logging.Services.LogsService;
+import com.ejada.logging.dto.LatencyResponse;
+import com.ejada.logging.dto.LogListResponse;
+import com.ejada.logging.dto.LogSearchCriteria;
+import com.ejada.logging.exception.InvalidLogQueryException;
+
+@RestController
+@RequestMapping("/logs")
+public class LogsController {
+
+    @Autowired
+    private LogsService logsService;
+
+    // Newest first. from/to are ISO-8601 instants; a time range lets MySQL skip every
+    // partition outside it.
+    @GetMapping
+    public ResponseEntity<LogListResponse> searchLogs(@RequestParam(required = false) Instant from,
+                                                      @RequestParam(required = false) Instant to,
+                                                      @RequestParam(required = false) String service,
+                                                      @RequestParam(required = false) String messageType,
+                                                      @RequestParam(required = false) String correlationId,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer size) {
+        LogSearchCriteria criteria = new LogSearchCriteria(
+            from != null ? Timestamp.from(from) : null,
+            to != null ? Timestamp.from(to) : null,
+            service,
+            parseMessageType(messageType),
+            correlationId
+        );
+        return ResponseEntity.ok(logsService.searchLogs(criteria, cursor, size));
+    }
+
+    // Response time percentiles of one endpoint, over the last logs.latency.default-window by default
+    @GetMapping("/latency")
+    public ResponseEntity<LatencyResponse> getLatency(@RequestParam String endpoint,
+                                                      @RequestParam(required = false) Instant from,
+                                                      @RequestParam(required = false) Instant to) {
+        return ResponseEntity.ok(logsService.getLatency(endpoint,
+            from != null ? Timestamp.from(from) : null,
+            to != null ? Timestamp.from(to) : null));
+    }
+
+    private static MessageType parseMessageType(String messageType) {
+        try {
+            return MessageType.fromString(messageType);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidLogQueryException(e.getMessage());
+        }
+    }
+}
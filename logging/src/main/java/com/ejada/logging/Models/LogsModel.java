@@ -10,6 +10,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -17,7 +18,17 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "logs")
+@Table(name = "logs", indexes = {
+    // Every search filter is paired with date_time, id so a page is one index range scan in
+    // keyset order. On MySQL the table is also range-partitioned by day on date_time
+    // (LogsPartitionManager), so a time range only opens the matching partitions.
+    @Index(name = "idx_logs_date_time", columnList = "date_time, id"),
+    @Index(name = "idx_logs_service_date_time", columnList = "service, date_time, id"),
+    @Index(name = "idx_logs_correlation_id", columnList = "correlation_id, date_time, id"),
+    @Index(name = "idx_logs_message_type_date_time", columnList = "message_type, date_time, id"),
+    // Covers the latency percentile query, which never has to read the message
+    @Index(name = "idx_logs_endpoint_latency", columnList = "endpoint, date_time, duration_ms, sample_rate")
+})
 @Getter
 @Setter
 @AllArgsConstructor
@@ -38,5 +49,21 @@ public class LogsModel {
     @Column(name = "date_time")
     @NotNull
     private Timestamp dateTime;
+    @Column(name = "service", length = 64)
+    private String service;
+    @Column(name = "correlation_id", length = 64)
+    private String correlationId;
+    // Method and route pattern, e.g. "GET /users/{userId}/profile"
+    @Column(name = "endpoint", length = 128)
+    private String endpoint;
+    // Set on the Response event of a request only
+    @Column(name = "http_status")
+    private Integer httpStatus;
+    @Column(name = "duration_ms")
+    private Long durationMs;
+    // The rate sampling kept the request at, so it stands for 1 / sampleRate requests;
+    // null on events from producers older than schema 2, which count once
+    @Column(name = "sample_rate")
+    private Double sampleRate;
 
 }
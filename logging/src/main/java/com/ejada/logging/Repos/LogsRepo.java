@@ -6,6 +6,6 @@ import org.springframework.stereotype.Repository;
 import com.ejada.logging.Models.LogsModel;
 
 @Repository
-public interface LogsRepo extends JpaRepository<LogsModel, Long> {
+public interface LogsRepo extends JpaRepository<LogsModel, Long>, LogsRepoCustom {
 
 }
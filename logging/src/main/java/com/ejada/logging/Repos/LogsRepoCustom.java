@@ -0,0 +1,21 @@
+package com.ejada.logging.Repos;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+import com.ejada.logging.Models.LogsModel;
+import com.ejada.logging.dto.LogCursor;
+import com.ejada.logging.dto.LogSearchCriteria;
+
+public interface LogsRepoCustom {
+
+    int insertAll(List<LogsModel> logs);
+
+    // Newest first; with a cursor, only logs strictly older than it
+    List<LogsModel> search(LogSearchCriteria criteria, LogCursor after, int limit);
+
+    // Empty when the endpoint has no timed responses in the range
+    Map<Double, Long> latencyPercentiles(String endpoint, Timestamp from, Timestamp to, List<Double> percentiles);
+
+}
@@ -0,0 +1,149 @@
+package com.ejada.logging.Repos;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ejada.logging.Models.LogsModel;
+import com.ejada.logging.Models.MessageType;
+import com.ejada.logging.dto.LogCursor;
+import com.ejada.logging.dto.LogSearchCriteria;
+
+/**
+ * Inserts logs with JDBC batches instead of one persist per row. IDENTITY ids stop
+ * Hibernate from batching inserts, and nothing reads the generated ids back, so the
+ * rows go straight to the table. With rewriteBatchedStatements on the MySQL URL each
+ * batch is sent as multi-row INSERT statements.
+ */
+public class LogsRepoImpl implements LogsRepoCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO logs (message, message_type, date_time, service, correlation_id, endpoint, http_status, duration_ms, sample_rate)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_SQL =
+            "SELECT id, message, message_type, date_time, service, correlation_id, endpoint, http_status, duration_ms, sample_rate"
+            + " FROM logs WHERE 1 = 1";
+
+    private static final RowMapper<LogsModel> ROW_MAPPER = (rs, rowNum) -> new LogsModel(
+            rs.getLong("id"),
+            rs.getString("message"),
+            MessageType.fromString(rs.getString("message_type")),
+            rs.getTimestamp("date_time"),
+            rs.getString("service"),
+            rs.getString("correlation_id"),
+            rs.getString("endpoint"),
+            rs.getObject("http_status", Integer.class),
+            rs.getObject("duration_ms", Long.class),
+            rs.getObject("sample_rate", Double.class));
+
+    // Bucket n holds durations d with floor(ln(1 + d) * 20) = n, each e^(1/20) (about 5%) wider than the last
+    private static final int LATENCY_BUCKETS_PER_E = 20;
+    private static final String LATENCY_BUCKET = "FLOOR(LN(duration_ms + 1) * " + LATENCY_BUCKETS_PER_E + ")";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${logs.insert.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public int insertAll(List<LogsModel> logs) {
+        if (logs.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, logs, batchSize, (statement, log) -> {
+            statement.setString(1, log.getMessage());
+            statement.setString(2, log.getMessageType().name());
+            statement.setTimestamp(3, log.getDateTime());
+            statement.setString(4, log.getService());
+            statement.setString(5, log.getCorrelationId());
+            statement.setString(6, log.getEndpoint());
+            statement.setObject(7, log.getHttpStatus(), Types.INTEGER);
+            statement.setObject(8, log.getDurationMs(), Types.BIGINT);
+            statement.setObject(9, log.getSampleRate(), Types.DOUBLE);
+        });
+        return logs.size();
+    }
+
+    // Only the filters that are set go into the SQL, so each search can use the index that
+    // leads with its filter instead of a catch-all "(? IS NULL OR ...)" plan
+    @Override
+    public List<LogsModel> search(LogSearchCriteria criteria, LogCursor after, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> params = new ArrayList<>();
+        if (criteria.getFrom() != null) {
+            sql.append(" AND date_time >= ?");
+            params.add(criteria.getFrom());
+        }
+        if (criteria.getTo() != null) {
+            sql.append(" AND date_time < ?");
+            params.add(criteria.getTo());
+        }
+        if (criteria.getService() != null) {
+            sql.append(" AND service = ?");
+            params.add(criteria.getService());
+        }
+        if (criteria.getMessageType() != null) {
+            sql.append(" AND message_type = ?");
+            params.add(criteria.getMessageType().name());
+        }
+        if (criteria.getCorrelationId() != null) {
+            sql.append(" AND correlation_id = ?");
+            params.add(criteria.getCorrelationId());
+        }
+        if (after != null) {
+            sql.append(" AND (date_time, id) < (?, ?)");
+            params.add(after.getDateTime());
+            params.add(after.getId());
+        }
+        sql.append(" ORDER BY date_time DESC, id DESC LIMIT ?");
+        params.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, params.toArray());
+    }
+
+    // Nearest-rank percentiles of the endpoint's response durations in [from, to). MySQL counts
+    // the durations into logarithmic buckets 5% wide through the covering (endpoint, date_time,
+    // duration_ms, sample_rate) index, so only a few hundred bucket counts come back however wide
+    // the window, and each percentile is reported as the middle of its bucket, within about 2.5%
+    // of the exact value. A response kept at sample rate r counts 1 / r times: the producers keep
+    // every failed or slow request but only a fraction of the rest, so unweighted counts would
+    // pull the percentiles toward the slow end.
+    @Override
+    public Map<Double, Long> latencyPercentiles(String endpoint, Timestamp from, Timestamp to, List<Double> percentiles) {
+        TreeMap<Integer, Double> buckets = new TreeMap<>();
+        jdbcTemplate.query("SELECT " + LATENCY_BUCKET + " AS bucket, SUM(1.0 / COALESCE(sample_rate, 1)) AS hits FROM logs"
+                + " WHERE endpoint = ? AND date_time >= ? AND date_time < ? AND duration_ms IS NOT NULL"
+                + " GROUP BY " + LATENCY_BUCKET,
+                (RowCallbackHandler) rs -> buckets.put(rs.getInt("bucket"), rs.getDouble("hits")), endpoint, from, to);
+        double total = buckets.values().stream().mapToDouble(Double::doubleValue).sum();
+        Map<Double, Long> result = new LinkedHashMap<>();
+        if (total == 0) {
+            return result;
+        }
+        for (double percentile : percentiles) {
+            double rank = percentile / 100.0 * total;
+            double seen = 0;
+            for (Map.Entry<Integer, Double> bucket : buckets.entrySet()) {
+                seen += bucket.getValue();
+                if (seen >= rank) {
+                    result.put(percentile, Math.round(Math.exp((bucket.getKey() + 0.5) / LATENCY_BUCKETS_PER_E) - 1));
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,79 @@
+package com.ejada.logging.Services;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.DecoderFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ejada.logging.Models.LogsModel;
+import com.ejada.logging.Models.MessageType;
+
+/**
+ * Reads Avro log events: a zero magic byte, the writer schema's ID as a 4-byte big-endian
+ * int, then the record. The writer schema comes from the schema registry by ID and is
+ * resolved against logs.consumer.schema-id, so producers on an older or newer compatible
+ * version are read the same way.
+ */
+@Component
+public class LogEventDecoder {
+
+    public static final String LOGS_SUBJECT = "Logs-value";
+
+    private static final byte MAGIC_BYTE = 0;
+    private static final int HEADER_LENGTH = 5;
+
+    @Autowired
+    private LogSchemaRegistry schemaRegistry;
+
+    @Value("${logs.consumer.schema-id:2}")
+    private int readerSchemaId;
+
+    private final Map<Integer, GenericDatumReader<GenericRecord>> readers = new ConcurrentHashMap<>();
+
+    public static boolean isAvro(byte[] value) {
+        return value.length > HEADER_LENGTH && value[0] == MAGIC_BYTE;
+    }
+
+    public LogsModel decode(byte[] value) throws IOException {
+        int schemaId = ByteBuffer.wrap(value, 1, 4).getInt();
+        GenericRecord record = readers.computeIfAbsent(schemaId, this::reader)
+                .read(null, DecoderFactory.get().binaryDecoder(value, HEADER_LENGTH, value.length - HEADER_LENGTH, null));
+
+        LogsModel logsModel = new LogsModel();
+        logsModel.setMessage(record.get("message").toString());
+        logsModel.setMessageType(MessageType.fromString(record.get("messageType").toString()));
+        long micros = (Long) record.get("dateTime");
+        logsModel.setDateTime(Timestamp.from(Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000), Math.floorMod(micros, 1_000_000) * 1_000L)));
+        logsModel.setService(string(record.get("service")));
+        logsModel.setCorrelationId(string(record.get("correlationId")));
+        logsModel.setEndpoint(string(record.get("endpoint")));
+        logsModel.setHttpStatus((Integer) record.get("httpStatus"));
+        logsModel.setDurationMs((Long) record.get("durationMs"));
+        logsModel.setSampleRate((Double) record.get("sampleRate"));
+        return logsModel;
+    }
+
+    // Events already on the reader's schema skip schema resolution
+    private GenericDatumReader<GenericRecord> reader(int writerSchemaId) {
+        Schema readerSchema = schemaRegistry.getSchema(LOGS_SUBJECT, readerSchemaId);
+        if (writerSchemaId == readerSchemaId) {
+            return new GenericDatumReader<>(readerSchema);
+        }
+        return new GenericDatumReader<>(schemaRegistry.getSchema(LOGS_SUBJECT, writerSchemaId), readerSchema);
+    }
+
+    // Avro strings are read as Utf8
+    private static String string(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
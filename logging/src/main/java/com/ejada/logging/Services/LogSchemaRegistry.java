@@ -0,0 +1,47 @@
+package com.ejada.logging.Services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.avro.Schema;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * File-based stand-in for a schema registry. Each schema is a file named by subject and ID
+ * under logs.schema-registry.location, e.g. Logs-value/1.avsc; registering a version means
+ * adding its file. IDs are looked up once and cached. An ID with no file fails only the
+ * message that carries it, and is looked up again next time.
+ */
+@Component
+public class LogSchemaRegistry {
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Value("${logs.schema-registry.location:classpath:schemas/}")
+    private String location;
+
+    private final Map<String, Schema> schemas = new ConcurrentHashMap<>();
+
+    public Schema getSchema(String subject, int id) {
+        return schemas.computeIfAbsent(subject + "/" + id, this::load);
+    }
+
+    private Schema load(String path) {
+        Resource resource = resourceLoader.getResource(location + path + ".avsc");
+        if (!resource.exists()) {
+            throw new IllegalArgumentException("Unknown schema " + path);
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return new Schema.Parser().parse(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read schema " + path, e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.ejada.logging.Services;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Tracks how far logging-group is behind the Logs topic and turns it into a scaling hint.
+ * logs.consumer.lag is the number of unconsumed records across all partitions;
+ * logs.consumer.recommended.consumers is how many consumer threads (across instances) would
+ * keep each one under lag-per-consumer, capped at the partition count since extra
+ * consumers would sit idle.
+ */
+@Service
+public class LogsLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(LogsLagMonitor.class);
+
+    private static final String TOPIC = "Logs";
+    private static final String GROUP_ID = "logging-group";
+
+    @Autowired
+    private KafkaAdmin kafkaAdmin;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${logs.consumer.lag-per-consumer:50000}")
+    private long lagPerConsumer;
+
+    private AdminClient adminClient;
+    private volatile long lag;
+    private volatile int partitions = 1;
+
+    @PostConstruct
+    public void registerMetrics() {
+        adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+        Gauge.builder("logs.consumer.lag", this, LogsLagMonitor::getLag)
+                .description("Records on the Logs topic not yet consumed by logging-group")
+                .register(meterRegistry);
+        Gauge.builder("logs.consumer.recommended.consumers", this, LogsLagMonitor::getRecommendedConsumers)
+                .description("Consumer threads needed to keep lag per consumer under the target")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void close() {
+        adminClient.close();
+    }
+
+    public long getLag() {
+        return lag;
+    }
+
+    public int getRecommendedConsumers() {
+        return recommendedConsumers(lag, partitions, lagPerConsumer);
+    }
+
+    static int recommendedConsumers(long lag, int partitions, long lagPerConsumer) {
+        long needed = (lag + lagPerConsumer - 1) / lagPerConsumer;
+        return (int) Math.max(1, Math.min(partitions, needed));
+    }
+
+    @Scheduled(fixedDelayString = "${logs.consumer.lag-poll-interval-ms:15000}")
+    public void refresh() {
+        try {
+            Map<TopicPartition, OffsetAndMetadata> committed = adminClient.listConsumerGroupOffsets(GROUP_ID)
+                    .partitionsToOffsetAndMetadata().get(10, TimeUnit.SECONDS);
+            List<TopicPartition> topicPartitions = adminClient.describeTopics(List.of(TOPIC)).allTopicNames()
+                    .get(10, TimeUnit.SECONDS).get(TOPIC).partitions().stream()
+                    .map(info -> new TopicPartition(TOPIC, info.partition()))
+                    .toList();
+            Map<TopicPartition, OffsetSpec> latest = topicPartitions.stream()
+                    .collect(Collectors.toMap(tp -> tp, tp -> OffsetSpec.latest()));
+            Map<TopicPartition, Long> endOffsets = new HashMap<>();
+            adminClient.listOffsets(latest).all().get(10, TimeUnit.SECONDS)
+                    .forEach((tp, info) -> endOffsets.put(tp, info.offset()));
+
+            long total = 0;
+            for (TopicPartition tp : topicPartitions) {
+                OffsetAndMetadata offset = committed.get(tp);
+                total += endOffsets.getOrDefault(tp, 0L) - (offset != null ? offset.offset() : 0L);
+            }
+            lag = total;
+            partitions = topicPartitions.size();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Error reading Logs consumer lag", e);
+        }
+    }
+}
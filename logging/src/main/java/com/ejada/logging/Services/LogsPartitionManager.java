@@ -0,0 +1,152 @@
+package com.ejada.logging.Services;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the logs table split into one MySQL range partition per UTC day, created
+ * days-ahead in advance, and enforces retention by dropping whole partitions. Dropping a
+ * partition is a metadata change, where a DELETE of a day of logs would rewrite indexes
+ * row by row and fill the binlog.
+ *
+ * <p>MySQL requires the partitioning column in every unique key, so on first run the
+ * primary key becomes (id, date_time); ids stay unique through AUTO_INCREMENT. Logs
+ * written before that first run all land in the first day's partition and go when it
+ * expires. Other databases (H2 in tests) are not partitioned and fall back to a DELETE.
+ */
+@Service
+public class LogsPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(LogsPartitionManager.class);
+
+    static final String MAX_PARTITION = "pmax";
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${logs.retention.days:30}")
+    private int retentionDays;
+
+    @Value("${logs.partitions.days-ahead:7}")
+    private int daysAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${logs.retention.cron:0 15 0 * * *}", zone = "UTC")
+    public void maintain() {
+        try {
+            LocalDate today = LocalDate.now(ZoneOffset.UTC);
+            if (isMySql()) {
+                maintainPartitions(today);
+            } else {
+                jdbcTemplate.update("DELETE FROM logs WHERE date_time < ?", Timestamp.from(cutoff(today).atStartOfDay().toInstant(ZoneOffset.UTC)));
+            }
+        } catch (Exception e) {
+            // Until it succeeds, retention stops and new days pile up in pmax, which is costly to split later
+            log.error("Error maintaining logs partitions", e);
+        }
+    }
+
+    private void maintainPartitions(LocalDate today) {
+        List<String> existing = jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS"
+                + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'logs' AND PARTITION_NAME IS NOT NULL",
+                String.class);
+        List<LocalDate> wanted = new ArrayList<>();
+        for (int day = 0; day <= daysAhead; day++) {
+            wanted.add(today.plusDays(day));
+        }
+
+        if (existing.isEmpty()) {
+            jdbcTemplate.execute(partitionTableSql(wanted));
+        } else {
+            List<LocalDate> missing = missingDays(existing, wanted);
+            if (!missing.isEmpty()) {
+                jdbcTemplate.execute(addPartitionsSql(missing));
+            }
+            List<String> expired = expiredPartitions(existing, cutoff(today));
+            if (!expired.isEmpty()) {
+                jdbcTemplate.execute("ALTER TABLE logs DROP PARTITION " + String.join(", ", expired));
+            }
+        }
+    }
+
+    // Partitions holding only days before this are dropped
+    private LocalDate cutoff(LocalDate today) {
+        return today.minusDays(retentionDays);
+    }
+
+    private boolean isMySql() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "MySQL".equalsIgnoreCase(product);
+    }
+
+    static String partitionTableSql(List<LocalDate> days) {
+        return "ALTER TABLE logs DROP PRIMARY KEY, ADD PRIMARY KEY (id, date_time)"
+                + " PARTITION BY RANGE (TO_DAYS(date_time)) (" + partitionDefinitions(days) + ")";
+    }
+
+    // New days are split off the empty catch-all partition, which is cheap
+    static String addPartitionsSql(List<LocalDate> days) {
+        return "ALTER TABLE logs REORGANIZE PARTITION " + MAX_PARTITION + " INTO (" + partitionDefinitions(days) + ")";
+    }
+
+    private static String partitionDefinitions(List<LocalDate> days) {
+        StringBuilder sql = new StringBuilder();
+        for (LocalDate day : days) {
+            sql.append("PARTITION ").append(day.format(PARTITION_NAME))
+                    .append(" VALUES LESS THAN (TO_DAYS('").append(day.plusDays(1)).append("')), ");
+        }
+        return sql.append("PARTITION ").append(MAX_PARTITION).append(" VALUES LESS THAN MAXVALUE").toString();
+    }
+
+    // Days after the newest existing partition; earlier gaps cannot be added behind it
+    static List<LocalDate> missingDays(Collection<String> existing, List<LocalDate> wanted) {
+        NavigableSet<LocalDate> days = partitionDays(existing);
+        LocalDate newest = days.isEmpty() ? null : days.last();
+        return wanted.stream().filter(day -> newest == null || day.isAfter(newest)).toList();
+    }
+
+    static List<String> expiredPartitions(Collection<String> existing, LocalDate cutoff) {
+        return partitionDays(existing).stream()
+                .filter(day -> day.isBefore(cutoff))
+                .map(day -> day.format(PARTITION_NAME))
+                .toList();
+    }
+
+    private static NavigableSet<LocalDate> partitionDays(Collection<String> names) {
+        NavigableSet<LocalDate> days = new TreeSet<>();
+        for (String name : names) {
+            try {
+                days.add(LocalDate.parse(name, PARTITION_NAME));
+            } catch (DateTimeParseException e) {
+                // pmax or a partition created by hand
+            }
+        }
+        return days;
+    }
+}
@@ -1,32 +1,145 @@
 package com.ejada.logging.Services;
 
+import java.io.IOException;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.HashMap;
+import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.ejada.logging.Models.LogsModel;
 import com.ejada.logging.Models.MessageType;
 import com.ejada.logging.Repos.LogsRepo;
+import com.ejada.logging.dto.LatencyResponse;
+import com.ejada.logging.dto.LogCursor;
+import com.ejada.logging.dto.LogListResponse;
+import com.ejada.logging.dto.LogMapper;
+import com.ejada.logging.dto.LogSearchCriteria;
+import com.ejada.logging.exception.InvalidLogQueryException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Service
 public class LogsService {
 
+    private static final Logger log = LoggerFactory.getLogger(LogsService.class);
+
+    private static final List<Double> LATENCY_PERCENTILES = List.of(50.0, 95.0, 99.0);
+
+    private static final TypeReference<HashMap<String,Object>> LOG_MAP = new TypeReference<>() {};
+
     @Autowired
     private LogsRepo logsRepo;
 
-    public List<LogsModel> getLogs() {
-        return logsRepo.findAll();
+    @Autowired
+    private LogEventDecoder logEventDecoder;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${logs.search.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${logs.search.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${logs.latency.default-window:1h}")
+    private Duration defaultLatencyWindow;
+
+    public LogListResponse searchLogs(LogSearchCriteria criteria, String cursor, Integer size) {
+        if (criteria.getFrom() != null && criteria.getTo() != null && !criteria.getFrom().before(criteria.getTo())) {
+            throw new InvalidLogQueryException("from must be before to");
+        }
+        int pageSize = pageSize(size);
+        LogCursor after = (cursor == null || cursor.isBlank()) ? null : LogCursor.decode(cursor);
+        // One extra row tells whether an older page exists without a count query
+        List<LogsModel> logs = logsRepo.search(criteria, after, pageSize + 1);
+
+        if (logs.size() <= pageSize) {
+            return LogMapper.toLogListResponse(logs, null);
+        }
+        List<LogsModel> page = logs.subList(0, pageSize);
+        return LogMapper.toLogListResponse(page, LogCursor.after(page.get(pageSize - 1)));
+    }
+
+    public LatencyResponse getLatency(String endpoint, Timestamp from, Timestamp to) {
+        if (endpoint == null || endpoint.isBlank()) {
+            throw new InvalidLogQueryException("endpoint is required");
+        }
+        Timestamp until = to != null ? to : Timestamp.from(Instant.now());
+        Timestamp since = from != null ? from : Timestamp.from(until.toInstant().minus(defaultLatencyWindow));
+        if (!since.before(until)) {
+            throw new InvalidLogQueryException("from must be before to");
+        }
+        Map<Double, Long> percentiles = logsRepo.latencyPercentiles(endpoint, since, until, LATENCY_PERCENTILES);
+        return new LatencyResponse(endpoint, since, until, percentiles.get(50.0), percentiles.get(95.0), percentiles.get(99.0));
+    }
+
+    private int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
     }
 
     public LogsModel saveLog(HashMap<String,Object> log) {
+        return logsRepo.save(toModel(log));
+    }
+
+    // Malformed entries are reported and skipped so they cannot hold back the rest of the batch
+    public int saveLogs(List<HashMap<String,Object>> logs) {
+        List<LogsModel> models = new ArrayList<>(logs.size());
+        for (HashMap<String,Object> entry : logs) {
+            try {
+                models.add(toModel(entry));
+            } catch (RuntimeException e) {
+                log.warn("Skipping malformed log message", e);
+            }
+        }
+        return logsRepo.insertAll(models);
+    }
+
+    // Avro events from current producers; JSON maps from producers not yet on the schema
+    public int saveEncodedLogs(List<byte[]> values) {
+        List<LogsModel> models = new ArrayList<>(values.size());
+        for (byte[] value : values) {
+            try {
+                models.add(LogEventDecoder.isAvro(value) ? logEventDecoder.decode(value) : toModel(objectMapper.readValue(value, LOG_MAP)));
+            } catch (IOException | RuntimeException e) {
+                log.warn("Skipping malformed log message", e);
+            }
+        }
+        return logsRepo.insertAll(models);
+    }
+
+    LogsModel toModel(HashMap<String,Object> log) {
         LogsModel logsModel = new LogsModel();
         logsModel.setMessage((String) log.get("message"));
         logsModel.setMessageType(MessageType.fromString((String) log.get("messageType")));
         logsModel.setDateTime(Timestamp.from(Instant.parse((String) log.get("dateTime"))));
-        return logsRepo.save(logsModel);
-    } 
+        // Absent on events from producers older than the search API
+        logsModel.setService((String) log.get("service"));
+        logsModel.setCorrelationId((String) log.get("correlationId"));
+        logsModel.setEndpoint((String) log.get("endpoint"));
+        if (log.get("httpStatus") instanceof Number httpStatus) {
+            logsModel.setHttpStatus(httpStatus.intValue());
+        }
+        if (log.get("durationMs") instanceof Number durationMs) {
+            logsModel.setDurationMs(durationMs.longValue());
+        }
+        if (log.get("sampleRate") instanceof Number sampleRate) {
+            logsModel.setSampleRate(sampleRate.doubleValue());
+        }
+        if (logsModel.getMessage() == null || logsModel.getMessageType() == null) {
+            throw new IllegalArgumentException("message and messageType are required");
+        }
+        return logsModel;
+    }
 }
@@ -0,0 +1,15 @@
+package com.ejada.logging.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorResponse {
+
+    private int status;
+    private String error;
+    private String message;
+}
@@ -0,0 +1,21 @@
+package com.ejada.logging.dto;
+
+import java.sql.Timestamp;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Response time percentiles of one endpoint in [from, to), in milliseconds to within about 2.5%; null when it had no responses
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatencyResponse {
+
+    private String endpoint;
+    private Timestamp from;
+    private Timestamp to;
+    private Long p50;
+    private Long p95;
+    private Long p99;
+}
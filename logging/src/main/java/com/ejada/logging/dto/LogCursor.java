@@ -0,0 +1,46 @@
+package com.ejada.logging.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+
+import com.ejada.logging.Models.LogsModel;
+import com.ejada.logging.exception.InvalidLogQueryException;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Position in a search: the (dateTime, id) of the last log of a page. Clients get it as an
+ * opaque URL-safe string and hand it back unchanged with the same filters.
+ */
+@Getter
+@AllArgsConstructor
+public class LogCursor {
+
+    private Timestamp dateTime;
+    private Long id;
+
+    public static LogCursor after(LogsModel log) {
+        return new LogCursor(log.getDateTime(), log.getId());
+    }
+
+    public String encode() {
+        String raw = dateTime.toInstant() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static LogCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new LogCursor(
+                Timestamp.from(Instant.parse(raw.substring(0, separator))),
+                Long.valueOf(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new InvalidLogQueryException("Invalid page cursor", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ejada.logging.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogListResponse {
+
+    private List<LogResponse> logs;
+
+    // Opaque cursor for the next (older) page, null on the last page
+    private String nextCursor;
+}
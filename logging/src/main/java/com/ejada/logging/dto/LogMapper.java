@@ -0,0 +1,32 @@
+package com.ejada.logging.dto;
+
+import java.util.List;
+
+import com.ejada.logging.Models.LogsModel;
+
+public class LogMapper {
+
+    public static LogResponse toLogResponse(LogsModel log) {
+        if (log == null) {
+            return null;
+        }
+        return new LogResponse(
+            log.getId(),
+            log.getDateTime(),
+            log.getService(),
+            log.getCorrelationId(),
+            log.getEndpoint(),
+            log.getHttpStatus(),
+            log.getDurationMs(),
+            log.getMessageType(),
+            log.getMessage()
+        );
+    }
+
+    public static LogListResponse toLogListResponse(List<LogsModel> logs, LogCursor nextCursor) {
+        List<LogResponse> responses = logs.stream()
+            .map(LogMapper::toLogResponse)
+            .toList();
+        return new LogListResponse(responses, nextCursor != null ? nextCursor.encode() : null);
+    }
+}
@@ -0,0 +1,25 @@
+package com.ejada.logging.dto;
+
+import java.sql.Timestamp;
+
+import com.ejada.logging.Models.MessageType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogResponse {
+
+    private Long id;
+    private Timestamp dateTime;
+    private String service;
+    private String correlationId;
+    private String endpoint;
+    private Integer httpStatus;
+    private Long durationMs;
+    private MessageType messageType;
+    private String message;
+}
@@ -0,0 +1,22 @@
+package com.ejada.logging.dto;
+
+import java.sql.Timestamp;
+
+import com.ejada.logging.Models.MessageType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Filters of a log search; null fields are not filtered on. from is inclusive, to exclusive.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogSearchCriteria {
+
+    private Timestamp from;
+    private Timestamp to;
+    private String service;
+    private MessageType messageType;
+    private String correlationId;
+}
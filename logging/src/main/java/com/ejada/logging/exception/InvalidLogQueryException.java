@@ -0,0 +1,12 @@
+package com.ejada.logging.exception;
+
+public class InvalidLogQueryException extends RuntimeException {
+
+    public InvalidLogQueryException(String message) {
+        super(message);
+    }
+
+    public InvalidLogQueryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
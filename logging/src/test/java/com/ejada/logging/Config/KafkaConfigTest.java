@@ -0,0 +1,93 @@
+package com.ejada.logging.Config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.condition.EmbeddedKafkaCondition;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@EmbeddedKafka(partitions = 1, topics = {"Logs", KafkaConfig.LOGS_DLT})
+public class KafkaConfigTest {
+
+    private static Map<String, Object> consumerConfig(EmbeddedKafkaBroker broker, String groupId) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        return config;
+    }
+
+    @Test
+    public void testFailedBatch_RetriedWithBackoffThenDeadLettered() throws Exception {
+        // Given: a database that stays down for the whole retry budget
+        EmbeddedKafkaBroker broker = EmbeddedKafkaCondition.getBroker();
+        KafkaTemplate<String, byte[]> kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class)));
+        KafkaConfig kafkaConfig = new KafkaConfig();
+        ReflectionTestUtils.setField(kafkaConfig, "retryInitialInterval", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(kafkaConfig, "retryMaxInterval", Duration.ofMillis(400));
+        ReflectionTestUtils.setField(kafkaConfig, "retryMaxRetries", 3);
+        for (int i = 0; i < 3; i++) {
+            kafkaTemplate.send("Logs", "users:request-" + i, ("log-" + i).getBytes()).get();
+        }
+        AtomicInteger attempts = new AtomicInteger();
+        List<Long> attemptTimes = new ArrayList<>();
+        ContainerProperties properties = new ContainerProperties("Logs");
+        properties.setMessageListener((BatchMessageListener<String, byte[]>) records -> {
+            attempts.incrementAndGet();
+            attemptTimes.add(System.nanoTime());
+            throw new IllegalStateException("database unavailable");
+        });
+        ConcurrentMessageListenerContainer<String, byte[]> container = new ConcurrentMessageListenerContainer<>(
+                new DefaultKafkaConsumerFactory<>(consumerConfig(broker, "logging-group")), properties);
+        container.setCommonErrorHandler(kafkaConfig.logsErrorHandler(kafkaTemplate));
+
+        // When
+        container.start();
+        List<ConsumerRecord<String, byte[]>> deadLetters = new ArrayList<>();
+        try (Consumer<String, byte[]> deadLetterConsumer =
+                     new DefaultKafkaConsumerFactory<String, byte[]>(consumerConfig(broker, "dlt-reader")).createConsumer()) {
+            deadLetterConsumer.subscribe(List.of(KafkaConfig.LOGS_DLT));
+            long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+            while (deadLetters.size() < 3 && System.nanoTime() < deadline) {
+                KafkaTestUtils.getRecords(deadLetterConsumer, Duration.ofSeconds(1)).forEach(deadLetters::add);
+            }
+        } finally {
+            container.stop();
+        }
+
+        // Then: the first attempt and three retries, spaced out, then every record dead-lettered as sent
+        assertEquals(4, attempts.get());
+        assertTrue(attemptTimes.get(3) - attemptTimes.get(0) >= Duration.ofMillis(100 + 200 + 400).toNanos());
+        assertEquals(List.of("log-0", "log-1", "log-2"), deadLetters.stream().map(record -> new String(record.value())).toList());
+        assertEquals("users:request-0", deadLetters.get(0).key());
+    }
+}
@@ -0,0 +1,141 @@
+package com.ejada.logging.Controllers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.BatchMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.condition.EmbeddedKafkaCondition;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+
+@EmbeddedKafka(partitions = KafkaConsumerScalingTest.PARTITIONS, topics = {"Logs", "Logs-1", "Logs-2", "Logs-3", "Logs-6"})
+public class KafkaConsumerScalingTest {
+
+    static final int PARTITIONS = 6;
+
+    private static void produce(EmbeddedKafkaBroker broker, String topic, int requests, int logsPerRequest) {
+        Map<String, Object> config = Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.LINGER_MS_CONFIG, 5);
+        try (KafkaProducer<String, String> producer = new KafkaProducer<>(config)) {
+            for (int sequence = 0; sequence < logsPerRequest; sequence++) {
+                for (int request = 0; request < requests; request++) {
+                    producer.send(new ProducerRecord<>(topic, "users:request-" + request, String.valueOf(sequence)));
+                }
+            }
+        }
+    }
+
+    private static ConcurrentMessageListenerContainer<String, String> container(EmbeddedKafkaBroker broker, String topic,
+            int concurrency, BatchMessageListener<String, String> listener) {
+        Map<String, Object> config = Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ConsumerConfig.GROUP_ID_CONFIG, "logging-group",
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+                ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 100,
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        ContainerProperties properties = new ContainerProperties(topic);
+        properties.setMessageListener(listener);
+        ConcurrentMessageListenerContainer<String, String> container =
+                new ConcurrentMessageListenerContainer<>(new DefaultKafkaConsumerFactory<>(config), properties);
+        container.setConcurrency(concurrency);
+        return container;
+    }
+
+    @Test
+    public void testConcurrentConsumers_KeepPerRequestOrder() throws Exception {
+        // Given
+        EmbeddedKafkaBroker broker = EmbeddedKafkaCondition.getBroker();
+        int requests = 60;
+        int logsPerRequest = 10;
+        produce(broker, "Logs", requests, logsPerRequest);
+        Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(requests * logsPerRequest);
+
+        // When
+        ConcurrentMessageListenerContainer<String, String> container = container(broker, "Logs", 3, records -> {
+            threads.add(Thread.currentThread().getName());
+            for (ConsumerRecord<String, String> record : records) {
+                received.computeIfAbsent(record.key(), key -> new ArrayList<>()).add(Integer.valueOf(record.value()));
+                done.countDown();
+            }
+        });
+        container.start();
+        boolean all = done.await(30, TimeUnit.SECONDS);
+        container.stop();
+
+        // Then
+        assertTrue(all, "missing " + done.getCount() + " records");
+        assertEquals(requests, received.size());
+        for (List<Integer> sequence : received.values()) {
+            assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), sequence);
+        }
+        assertEquals(3, threads.size());
+    }
+
+    /**
+     * Ingestion rate with 1, 2, 3 and 6 consumer threads on the 6-partition topic, each
+     * batch costing a fixed batchWrite the way a database round trip does. Skipped by
+     * default; run with mvn test -Dtest=KafkaConsumerScalingTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void benchmarkThroughputByConcurrency() throws Exception {
+        Duration batchWrite = Duration.ofMillis(10);
+        EmbeddedKafkaBroker broker = EmbeddedKafkaCondition.getBroker();
+        int requests = 6000;
+        int logsPerRequest = 2;
+        int total = requests * logsPerRequest;
+
+        double single = 0;
+        for (int concurrency : new int[] {1, 2, 3, PARTITIONS}) {
+            String topic = "Logs-" + concurrency;
+            CountDownLatch done = new CountDownLatch(total);
+            ConcurrentMessageListenerContainer<String, String> container = container(broker, topic, concurrency, records -> {
+                try {
+                    Thread.sleep(batchWrite);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                records.forEach(record -> done.countDown());
+            });
+            container.start();
+            // Timed once every partition is assigned, so group join and rebalancing are excluded
+            ContainerTestUtils.waitForAssignment(container, PARTITIONS);
+            long start = System.nanoTime();
+            produce(broker, topic, requests, logsPerRequest);
+            assertTrue(done.await(120, TimeUnit.SECONDS));
+            double rate = total / ((System.nanoTime() - start) / 1e9);
+            container.stop();
+            if (concurrency == 1) {
+                single = rate;
+            }
+            System.out.printf("%d consumer thread(s) %10.0f events/s  x%.1f%n", concurrency, rate, rate / single);
+        }
+    }
+}
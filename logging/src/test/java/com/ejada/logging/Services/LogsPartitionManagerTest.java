@@ -0,0 +1,80 @@
+package com.ejada.logging.Services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.ejada.logging.Repos.LogsRepo;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+@Import({LogsService.class, LogEventDecoder.class, LogSchemaRegistry.class, LogsPartitionManager.class})
+public class LogsPartitionManagerTest {
+
+    @Autowired
+    private LogsPartitionManager partitionManager;
+
+    @Autowired
+    private LogsService logsService;
+
+    @Autowired
+    private LogsRepo logsRepo;
+
+    @Test
+    public void testPartitionTableSql_OnePartitionPerDayAndCatchAll() {
+        // When
+        String sql = LogsPartitionManager.partitionTableSql(List.of(LocalDate.of(2026, 10, 17), LocalDate.of(2026, 10, 18)));
+
+        // Then
+        assertEquals("ALTER TABLE logs DROP PRIMARY KEY, ADD PRIMARY KEY (id, date_time)"
+                + " PARTITION BY RANGE (TO_DAYS(date_time)) ("
+                + "PARTITION p20261017 VALUES LESS THAN (TO_DAYS('2026-10-18')), "
+                + "PARTITION p20261018 VALUES LESS THAN (TO_DAYS('2026-10-19')), "
+                + "PARTITION pmax VALUES LESS THAN MAXVALUE)", sql);
+    }
+
+    @Test
+    public void testMissingDaysAndExpiredPartitions() {
+        // Given
+        List<String> existing = List.of("p20260915", "p20260916", "p20261017", "p20261018", "pmax");
+        List<LocalDate> wanted = List.of(LocalDate.of(2026, 10, 17), LocalDate.of(2026, 10, 18), LocalDate.of(2026, 10, 19));
+
+        // When
+        List<LocalDate> missing = LogsPartitionManager.missingDays(existing, wanted);
+        List<String> expired = LogsPartitionManager.expiredPartitions(existing, LocalDate.of(2026, 9, 16));
+
+        // Then
+        assertEquals(List.of(LocalDate.of(2026, 10, 19)), missing);
+        assertEquals(List.of("p20260915"), expired);
+        assertTrue(LogsPartitionManager.addPartitionsSql(missing).startsWith("ALTER TABLE logs REORGANIZE PARTITION pmax INTO (PARTITION p20261019"));
+    }
+
+    @Test
+    public void testMaintain_DeletesExpiredLogsWithoutPartitions() {
+        // Given: H2 has no partitions, so retention falls back to a DELETE
+        HashMap<String, Object> old = new HashMap<>();
+        old.put("message", "{}");
+        old.put("messageType", "Request");
+        old.put("dateTime", Instant.now().minus(40, ChronoUnit.DAYS).toString());
+        HashMap<String, Object> recent = new HashMap<>(old);
+        recent.put("dateTime", Instant.now().toString());
+        logsService.saveLogs(List.of(old, recent));
+
+        // When
+        partitionManager.maintain();
+
+        // Then
+        assertEquals(1, logsRepo.count());
+    }
+}
@@ -0,0 +1,394 @@
+package com.ejada.logging.Services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.util.Utf8;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ejada.logging.Models.LogsModel;
+import com.ejada.logging.Models.MessageType;
+import com.ejada.logging.Repos.LogsRepo;
+import com.ejada.logging.dto.LatencyResponse;
+import com.ejada.logging.dto.LogListResponse;
+import com.ejada.logging.dto.LogResponse;
+import com.ejada.logging.dto.LogSearchCriteria;
+import com.ejada.logging.exception.InvalidLogQueryException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+@Import({LogsService.class, LogEventDecoder.class, LogSchemaRegistry.class})
+public class LogsServiceTest {
+
+    @Autowired
+    private LogsService logsService;
+
+    @Autowired
+    private LogsRepo logsRepo;
+
+    @Autowired
+    private LogSchemaRegistry schemaRegistry;
+
+    @Autowired
+    private LogEventDecoder logEventDecoder;
+
+    private static HashMap<String, Object> log(String message, String messageType) {
+        HashMap<String, Object> log = new HashMap<>();
+        log.put("message", message);
+        log.put("messageType", messageType);
+        log.put("dateTime", Instant.now().toString());
+        return log;
+    }
+
+    private static HashMap<String, Object> log(String service, String correlationId, String messageType, Instant dateTime) {
+        HashMap<String, Object> log = log("{}", messageType);
+        log.put("service", service);
+        log.put("correlationId", correlationId);
+        log.put("dateTime", dateTime.toString());
+        return log;
+    }
+
+    @Test
+    public void testSaveLogs_InsertsBatch() {
+        // Given
+        List<HashMap<String, Object>> logs = List.of(log("{\"a\":1}", "Request"), log("{\"a\":2}", "Response"));
+
+        // When
+        int saved = logsService.saveLogs(logs);
+
+        // Then
+        assertEquals(2, saved);
+        List<LogsModel> stored = logsRepo.findAll();
+        assertEquals(2, stored.size());
+        assertTrue(stored.stream().anyMatch(l -> l.getMessageType() == MessageType.Response && l.getMessage().equals("{\"a\":2}")));
+    }
+
+    @Test
+    public void testSaveLogs_SkipsMalformedMessages() {
+        // Given
+        HashMap<String, Object> badDate = log("{}", "Request");
+        badDate.put("dateTime", "yesterday");
+        List<HashMap<String, Object>> logs = List.of(log("{}", "Request"), badDate, log("{}", "Unknown"), log(null, "Request"));
+
+        // When
+        int saved = logsService.saveLogs(logs);
+
+        // Then
+        assertEquals(1, saved);
+        assertEquals(1, logsRepo.count());
+    }
+
+    // Encodes the way the services' LogPublisher does: magic byte, schema ID, Avro record
+    private static byte[] avroLog(Schema schema, int schemaId, String correlationId, Integer httpStatus, Long durationMs,
+                                  String message, String messageType, Instant dateTime) throws IOException {
+        GenericData.Record record = new GenericData.Record(schema);
+        record.put("service", "users");
+        record.put("correlationId", correlationId);
+        record.put("endpoint", "GET /users/{userId}/profile");
+        record.put("httpStatus", httpStatus);
+        record.put("durationMs", durationMs);
+        if (schema.getField("sampleRate") != null) {
+            record.put("sampleRate", 0.1);
+        }
+        record.put("messageType", new GenericData.EnumSymbol(schema.getField("messageType").schema(), messageType));
+        record.put("dateTime", dateTime.getEpochSecond() * 1_000_000 + dateTime.getNano() / 1_000);
+        record.put("message", message);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(new byte[] {0, (byte) (schemaId >>> 24), (byte) (schemaId >>> 16), (byte) (schemaId >>> 8), (byte) schemaId});
+        BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+        new GenericDatumWriter<GenericData.Record>(schema).write(record, encoder);
+        encoder.flush();
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testSaveEncodedLogs_ReadsAvroAndLegacyJson() throws Exception {
+        // Given: an Avro event, a JSON event from a producer not yet upgraded, an unregistered schema ID and garbage
+        Schema schema = schemaRegistry.getSchema(LogEventDecoder.LOGS_SUBJECT, 1);
+        Instant dateTime = Instant.parse("2026-10-01T10:00:00.123456Z");
+        byte[] avro = avroLog(schema, 1, "c1", 200, 42L, "{\"a\":1}", "Response", dateTime);
+        byte[] json = new JsonSerializer<HashMap<String, Object>>().serialize("Logs", log("users", "c2", "Request", dateTime));
+        byte[] unknownSchema = avroLog(schema, 99, "c3", null, null, "{}", "Request", dateTime);
+        byte[] garbage = "not a log".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        int saved = logsService.saveEncodedLogs(List.of(avro, json, unknownSchema, garbage));
+
+        // Then
+        assertEquals(2, saved);
+        LogResponse stored = logsService.searchLogs(new LogSearchCriteria(null, null, null, null, "c1"), null, null).getLogs().get(0);
+        assertEquals("{\"a\":1}", stored.getMessage());
+        assertEquals("users", stored.getService());
+        assertEquals("GET /users/{userId}/profile", stored.getEndpoint());
+        assertEquals(200, stored.getHttpStatus());
+        assertEquals(42L, stored.getDurationMs());
+        assertEquals(dateTime, stored.getDateTime().toInstant());
+        assertEquals(1, logsService.searchLogs(new LogSearchCriteria(null, null, null, MessageType.Request, "c2"), null, null).getLogs().size());
+    }
+
+    @Test
+    public void testSaveEncodedLogs_StoresSampleRate() throws Exception {
+        // Given: a schema 2 Response event kept at a 10% sample rate, and one from a schema 1 producer
+        byte[] sampled = avroLog(schemaRegistry.getSchema(LogEventDecoder.LOGS_SUBJECT, 2), 2, "c1", 200, 42L, "{}", "Response", Instant.now());
+        byte[] older = avroLog(schemaRegistry.getSchema(LogEventDecoder.LOGS_SUBJECT, 1), 1, "c2", 200, 42L, "{}", "Response", Instant.now());
+
+        // When
+        logsService.saveEncodedLogs(List.of(sampled, older));
+
+        // Then: the schema 1 event has no rate and counts once
+        List<LogsModel> stored = logsRepo.findAll();
+        assertEquals(0.1, stored.stream().filter(l -> l.getCorrelationId().equals("c1")).findFirst().orElseThrow().getSampleRate());
+        assertNull(stored.stream().filter(l -> l.getCorrelationId().equals("c2")).findFirst().orElseThrow().getSampleRate());
+    }
+
+    @Test
+    public void testSearchLogs_PagesNewestFirstWithCursor() {
+        // Given: five users logs, two of them at the same instant, and one bff log
+        Instant base = Instant.parse("2026-10-01T10:00:00Z");
+        logsService.saveLogs(List.of(
+                log("users", "c1", "Request", base),
+                log("users", "c1", "Response", base.plusSeconds(1)),
+                log("users", "c2", "Request", base.plusSeconds(2)),
+                log("users", "c2", "Response", base.plusSeconds(2)),
+                log("users", "c3", "Request", base.plusSeconds(3)),
+                log("bff", "c1", "Request", base.plusSeconds(4))));
+        LogSearchCriteria criteria = new LogSearchCriteria(null, null, "users", null, null);
+
+        // When
+        LogListResponse first = logsService.searchLogs(criteria, null, 2);
+        LogListResponse second = logsService.searchLogs(criteria, first.getNextCursor(), 2);
+        LogListResponse third = logsService.searchLogs(criteria, second.getNextCursor(), 2);
+
+        // Then
+        List<LogResponse> all = new ArrayList<>(first.getLogs());
+        all.addAll(second.getLogs());
+        all.addAll(third.getLogs());
+        assertEquals(5, all.size());
+        assertEquals(List.of("c3", "c2", "c2", "c1", "c1"), all.stream().map(LogResponse::getCorrelationId).toList());
+        assertEquals(5, all.stream().map(LogResponse::getId).distinct().count());
+        assertNull(third.getNextCursor());
+    }
+
+    @Test
+    public void testSearchLogs_CombinesFilters() {
+        // Given
+        Instant base = Instant.parse("2026-10-01T10:00:00Z");
+        logsService.saveLogs(List.of(
+                log("users", "c1", "Request", base),
+                log("users", "c1", "Response", base.plusSeconds(1)),
+                log("bff", "c1", "Request", base.plusSeconds(2)),
+                log("users", "c2", "Request", base.plusSeconds(3))));
+
+        // When
+        LogListResponse requests = logsService.searchLogs(
+                new LogSearchCriteria(null, null, null, MessageType.Request, "c1"), null, null);
+        LogListResponse window = logsService.searchLogs(
+                new LogSearchCriteria(Timestamp.from(base.plusSeconds(1)), Timestamp.from(base.plusSeconds(3)), null, null, null), null, null);
+
+        // Then
+        assertEquals(List.of("bff", "users"), requests.getLogs().stream().map(LogResponse::getService).toList());
+        assertEquals(2, window.getLogs().size());
+        assertThrows(InvalidLogQueryException.class, () -> logsService.searchLogs(
+                new LogSearchCriteria(Timestamp.from(base), Timestamp.from(base), null, null, null), null, null));
+        assertThrows(InvalidLogQueryException.class, () -> logsService.searchLogs(
+                new LogSearchCriteria(), "not-a-cursor", null));
+    }
+
+    @Test
+    public void testGetLatency_PercentilesOfOneEndpoint() {
+        // Given: durations 1..100 ms on the profile endpoint and a slow call elsewhere
+        Instant base = Instant.parse("2026-10-01T10:00:00Z");
+        List<HashMap<String, Object>> logs = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            HashMap<String, Object> response = log("users", "c" + i, "Response", base.plusSeconds(i));
+            response.put("endpoint", "GET /users/{userId}/profile");
+            response.put("httpStatus", 200);
+            response.put("durationMs", i);
+            logs.add(response);
+        }
+        HashMap<String, Object> other = log("users", "slow", "Response", base);
+        other.put("endpoint", "POST /users/register");
+        other.put("durationMs", 5000);
+        logs.add(other);
+        logsService.saveLogs(logs);
+
+        // When
+        LatencyResponse latency = logsService.getLatency("GET /users/{userId}/profile",
+                Timestamp.from(base), Timestamp.from(base.plusSeconds(3600)));
+        LatencyResponse empty = logsService.getLatency("GET /unknown",
+                Timestamp.from(base), Timestamp.from(base.plusSeconds(3600)));
+
+        // Then: each percentile is the middle of its 5% bucket
+        assertEquals(50, latency.getP50(), 50 * 0.03);
+        assertEquals(95, latency.getP95(), 95 * 0.03);
+        assertEquals(99, latency.getP99(), 99 * 0.03);
+        assertNull(empty.getP50());
+        LogResponse stored = logsService.searchLogs(new LogSearchCriteria(null, null, null, null, "c7"), null, null).getLogs().get(0);
+        assertEquals("GET /users/{userId}/profile", stored.getEndpoint());
+        assertEquals(200, stored.getHttpStatus());
+        assertEquals(7L, stored.getDurationMs());
+    }
+
+    @Test
+    public void testGetLatency_WeightsSampledResponses() {
+        // Given: 10 fast responses kept at a 10% sample rate stand for 100, beside 20 slow ones that are always kept
+        Instant base = Instant.parse("2026-10-01T10:00:00Z");
+        List<HashMap<String, Object>> logs = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            HashMap<String, Object> response = log("users", "c" + i, "Response", base.plusSeconds(i));
+            response.put("endpoint", "GET /users/{userId}/profile");
+            response.put("durationMs", i < 10 ? 10 : 1000);
+            response.put("sampleRate", i < 10 ? 0.1 : 1.0);
+            logs.add(response);
+        }
+        logsService.saveLogs(logs);
+
+        // When
+        LatencyResponse latency = logsService.getLatency("GET /users/{userId}/profile",
+                Timestamp.from(base), Timestamp.from(base.plusSeconds(3600)));
+
+        // Then: the median is a fast request, as it was before sampling
+        assertEquals(10, latency.getP50(), 10 * 0.03);
+        assertEquals(1000, latency.getP95(), 1000 * 0.03);
+    }
+
+    /**
+     * Bytes and CPU time per log event for the previous format (body as a JSON string inside
+     * a JSON map) against the Avro record with a schema ID prefix, producer encoding and
+     * consumer decoding to a LogsModel measured separately. Skipped by default; run with
+     * mvn test -Dtest=LogsServiceTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void benchmarkEventFormats() throws Exception {
+        int events = 200_000;
+        Map<String, Object> payload = Map.of("userId", "0f8fad5b-d9cb-469f-a165-70867728950e", "status", "ACTIVE", "balance", 1250.75);
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonSerializer<HashMap<String, Object>> jsonSerializer = new JsonSerializer<>();
+        Schema schema = schemaRegistry.getSchema(LogEventDecoder.LOGS_SUBJECT, 1);
+        GenericDatumWriter<GenericData.Record> writer = new GenericDatumWriter<>(schema);
+        Schema messageTypeSchema = schema.getField("messageType").schema();
+        GenericData.Record record = new GenericData.Record(schema);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        BinaryEncoder[] encoder = new BinaryEncoder[1];
+
+        ThrowingSupplier<byte[]> json = () -> {
+            HashMap<String, Object> log = new HashMap<>();
+            log.put("message", objectMapper.writeValueAsString(payload));
+            log.put("messageType", "Response");
+            log.put("dateTime", Instant.now().toString());
+            log.put("service", "users");
+            log.put("correlationId", "5b3c1f0e-8a7d-4c2b-9e61-0d4f2a7c9b13");
+            log.put("endpoint", "GET /users/{userId}/profile");
+            log.put("httpStatus", 200);
+            log.put("durationMs", 12L);
+            return jsonSerializer.serialize("Logs", log);
+        };
+        ThrowingSupplier<byte[]> avro = () -> {
+            Instant now = Instant.now();
+            record.put("service", "users");
+            record.put("correlationId", "5b3c1f0e-8a7d-4c2b-9e61-0d4f2a7c9b13");
+            record.put("endpoint", "GET /users/{userId}/profile");
+            record.put("httpStatus", 200);
+            record.put("durationMs", 12L);
+            record.put("messageType", new GenericData.EnumSymbol(messageTypeSchema, "Response"));
+            record.put("dateTime", now.getEpochSecond() * 1_000_000 + now.getNano() / 1_000);
+            record.put("message", new Utf8(objectMapper.writeValueAsBytes(payload)));
+            buffer.reset();
+            buffer.write(new byte[] {0, 0, 0, 0, 1});
+            encoder[0] = EncoderFactory.get().directBinaryEncoder(buffer, encoder[0]);
+            writer.write(record, encoder[0]);
+            encoder[0].flush();
+            return buffer.toByteArray();
+        };
+        byte[] jsonEvent = json.get();
+        byte[] avroEvent = avro.get();
+
+        double jsonEncode = cpuNanosPerCall(json, events);
+        double avroEncode = cpuNanosPerCall(avro, events);
+        double jsonDecode = cpuNanosPerCall(() -> logsService.toModel(objectMapper.readValue(jsonEvent, new TypeReference<HashMap<String, Object>>() {})), events);
+        double avroDecode = cpuNanosPerCall(() -> logEventDecoder.decode(avroEvent), events);
+
+        System.out.printf("%-6s %6d bytes/event %8.0f ns encode %8.0f ns decode%n", "JSON", jsonEvent.length, jsonEncode, jsonDecode);
+        System.out.printf("%-6s %6d bytes/event %8.0f ns encode %8.0f ns decode%n", "Avro", avroEvent.length, avroEncode, avroDecode);
+        assertTrue(avroEvent.length < jsonEvent.length);
+    }
+
+    private interface ThrowingSupplier<T> {
+        T get() throws Exception;
+    }
+
+    // CPU time of the calling thread, so GC and JIT threads are not counted
+    private static double cpuNanosPerCall(ThrowingSupplier<?> call, int calls) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < calls / 10; i++) {
+            call.get();
+        }
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < calls; i++) {
+            call.get();
+        }
+        return (threads.getCurrentThreadCpuTime() - start) / (double) calls;
+    }
+
+    /**
+     * Per-message saveLog against saveLogs for the same events, each committed the way
+     * the listener commits them. Skipped by default; run with
+     * mvn test -Dtest=LogsServiceTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void benchmarkBatchInsert() {
+        int events = 50_000;
+        int pollSize = 1000;
+        List<HashMap<String, Object>> logs = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            logs.add(log("{\"userId\":\"0f8fad5b-d9cb-469f-a165-70867728950e\",\"i\":" + i + "}", "Request"));
+        }
+
+        long start = System.nanoTime();
+        for (HashMap<String, Object> log : logs.subList(0, events / 10)) {
+            logsService.saveLog(log);
+        }
+        double perRecord = (events / 10) / ((System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        for (int i = 0; i < events; i += pollSize) {
+            logsService.saveLogs(logs.subList(i, i + pollSize));
+        }
+        double batched = events / ((System.nanoTime() - start) / 1e9);
+        logsRepo.deleteAllInBatch();
+
+        System.out.printf("%-24s %10.0f events/s%n", "save per message", perRecord);
+        System.out.printf("%-24s %10.0f events/s%n", "batch insert", batched);
+        assertTrue(batched > perRecord);
+    }
+}
@@ -0,0 +1,21 @@
+package com.ejada.transactions.Config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaConfig {
+
+    // Transfers for the accounts service to apply, keyed by source account
+    @Bean
+    public NewTopic transferCommandsTopic()
+    {
+        return TopicBuilder.name("TransferCommands")
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
+}
@@ -4,14 +4,20 @@ import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.ejada.transactions.Services.KafkaProducerService;
+import com.ejada.logging.producer.CorrelationIdFilter;
+import com.ejada.transactions.Services.TransactionExporter;
 import com.ejada.transactions.Services.TransactionService;
+import com.ejada.transactions.dto.AccountTransactionsBatchRequest;
+import com.ejada.transactions.dto.AccountTransactionsBatchResponse;
 import com.ejada.transactions.dto.TransactionExecutionRequest;
+import com.ejada.transactions.dto.TransactionExportFormat;
 import com.ejada.transactions.dto.TransactionListResponse;
 import com.ejada.transactions.dto.TransactionRequest;
 import com.ejada.transactions.dto.TransactionResponse;
@@ -20,27 +26,61 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/transactions")
 public class TransactionController {
 
+    // Retries of an execution or transfer that carry the same key get the stored result back
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     @Autowired
     private TransactionService transactionService;
 
     @Autowired
-    private KafkaProducerService kafkaProducerService;
+    private TransactionExporter transactionExporter;
 
     @GetMapping("/accounts/{accountId}")
-    public ResponseEntity<TransactionListResponse> getTransactions(@PathVariable String accountId) {
+    public ResponseEntity<TransactionListResponse> getTransactions(@PathVariable String accountId,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer size) {
 
-        kafkaProducerService.sendMessage(Map.of("accountId", accountId), "Request");
-        
-        TransactionListResponse transactions = transactionService.getTransactions(UUID.fromString(accountId));
+        TransactionListResponse transactions = transactionService.getTransactions(UUID.fromString(accountId), cursor, size);
         
-        kafkaProducerService.sendMessage(transactions, "Response");
+        return ResponseEntity.ok(transactions);
+    }
+
+    @GetMapping("/accounts/{accountId}/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(@PathVariable String accountId,
+                                                                    @RequestParam(defaultValue = "ndjson") String format,
+                                                                    HttpServletRequest request) {
+
+        UUID account = UUID.fromString(accountId);
+        TransactionExportFormat exportFormat = TransactionExportFormat.fromString(format);
+        // Rows are written by the async request thread as they are read, never collected in memory.
+        // CorrelationIdFilter logs the request once the last row is written.
+        StreamingResponseBody body = out -> {
+            long rows = transactionExporter.export(account, exportFormat, out);
+            CorrelationIdFilter.deferResponse(request, Map.of("accountId", accountId, "format", format, "rows", rows));
+        };
+
+        String filename = "transactions-" + accountId + "." + exportFormat.name().toLowerCase();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    @PostMapping("/accounts/batch")
+    public ResponseEntity<AccountTransactionsBatchResponse> getTransactionsForAccounts(@Valid @RequestBody AccountTransactionsBatchRequest request) {
+
+        AccountTransactionsBatchResponse transactions = transactionService.getTransactions(request.getAccountIds(), request.getLimitPerAccount());
         
         return ResponseEntity.ok(transactions);
     }
@@ -48,36 +88,43 @@ public class TransactionController {
     @PostMapping("/transfer/initiation")
     public ResponseEntity<TransactionResponse> initiateTransaction(@Valid @RequestBody TransactionRequest request) {
 
-        kafkaProducerService.sendMessage(request, "Request");
-        
         TransactionResponse response = transactionService.initiateTransactionWithValidation(request);
 
-        kafkaProducerService.sendMessage(response, "Response");
-        
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @PostMapping("/transfer/execution")
-    public ResponseEntity<TransactionResponse> executeTransaction(@Valid @RequestBody TransactionExecutionRequest request) {
+    public ResponseEntity<TransactionResponse> executeTransaction(@Valid @RequestBody TransactionExecutionRequest request,
+                                                                  @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
 
-        kafkaProducerService.sendMessage(request, "Request");
-        
-        TransactionResponse response = transactionService.executeTransfer(request);
+        TransactionResponse response = transactionService.executeTransfer(request, idempotencyKey);
 
-        kafkaProducerService.sendMessage(response, "Response");
-        
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/transfer")
+    public ResponseEntity<TransactionResponse> transfer(@Valid @RequestBody TransactionRequest request,
+                                                        @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+
+        TransactionResponse response = transactionService.transfer(request, idempotencyKey);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/transfer/async")
+    public ResponseEntity<TransactionResponse> submitTransfer(@Valid @RequestBody TransactionRequest request,
+                                                              @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+
+        TransactionResponse response = transactionService.submitTransfer(request, idempotencyKey);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
     @GetMapping("/accounts/{accountId}/getLatest")
     public ResponseEntity<TransactionResponse> getLatestTransaction(@PathVariable String accountId) {
 
-        kafkaProducerService.sendMessage(Map.of("accountId", accountId), "Request");
-        
         TransactionResponse transaction = transactionService.getLatestTransaction(UUID.fromString(accountId));
 
-        kafkaProducerService.sendMessage(transaction, "Response");
-
         return ResponseEntity.ok(transaction);
     }
     
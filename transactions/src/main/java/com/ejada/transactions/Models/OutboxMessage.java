@@ -0,0 +1,47 @@
+package com.ejada.transactions.Models;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UuidGenerator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A Kafka message written in the same database transaction as the change it announces, and
+ * deleted once the broker has acknowledged it. Time-ordered IDs keep the relay in FIFO order.
+ */
+@Entity
+@Table(name = "outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+
+    @Id
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    @Column(name = "id", nullable = false)
+    private UUID id;
+    @Column(name = "topic", length = 100)
+    @NotNull
+    private String topic;
+    @Column(name = "message_key", length = 64)
+    private String messageKey;
+    @Column(name = "payload", length = 4000)
+    @NotNull
+    private String payload;
+    @Column(name = "created_at")
+    @CreationTimestamp
+    private Timestamp createdAt;
+
+}
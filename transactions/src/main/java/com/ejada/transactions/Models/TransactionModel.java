@@ -1,18 +1,19 @@
 package com.ejada.transactions.Models;
 
+import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.util.UUID;
 
 import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UuidGenerator;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -21,7 +22,13 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    // Back the keyset-paginated history lookups for either side of a transfer
+    @Index(name = "idx_transactions_from_account_created", columnList = "from_account_id, created_at, id"),
+    @Index(name = "idx_transactions_to_account_created", columnList = "to_account_id, created_at, id"),
+    // One transfer per client idempotency key; concurrent retries race on this index, not on a status read
+    @Index(name = "uk_transactions_idempotency_key", columnList = "idempotency_key", unique = true)
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,7 +36,7 @@ import lombok.Setter;
 public class TransactionModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(name = "id", nullable = false)
     private UUID id;
     @Column(name = "from_account_id")
@@ -38,9 +45,9 @@ public class TransactionModel {
     @Column(name = "to_account_id")
     @NotNull
     private UUID toAccountId;
-    @Column(name = "amount")
+    @Column(name = "amount", precision = 19, scale = 4)
     @NotNull
-    private Double amount;
+    private BigDecimal amount;
     @Column(name = "description", nullable = true)
     private String description;
     @Column(name = "status")
@@ -51,5 +58,13 @@ public class TransactionModel {
     @Column(name = "created_at")
     @CreationTimestamp
     private Timestamp createdAt;
+    @Column(name = "idempotency_key", length = 64, nullable = true)
+    private String idempotencyKey;
+    // SHA-256 of the request the key was first used for; a retry must carry the same request
+    @Column(name = "request_hash", length = 64, nullable = true)
+    private String requestHash;
+    // When the accounts service was last asked to apply this transfer
+    @Column(name = "attempted_at", nullable = true)
+    private Timestamp attemptedAt;
 
 }
@@ -5,6 +5,8 @@ import com.fasterxml.jackson.annotation.JsonValue;
 
 public enum TransactionStatus {
     INITIATED,
+    // Submitted through the outbox; only the accounts service's TransferResults message completes it
+    PENDING,
     SUCCESS,
     FAILED;
 
@@ -23,7 +25,7 @@ public enum TransactionStatus {
                 return status;
             }
         }
-        throw new IllegalArgumentException("Invalid TransactionStatus: " + value + ". Valid values are: INITIATED, SUCCESS, FAILED");
+        throw new IllegalArgumentException("Invalid TransactionStatus: " + value + ". Valid values are: INITIATED, PENDING, SUCCESS, FAILED");
     }
 
 }
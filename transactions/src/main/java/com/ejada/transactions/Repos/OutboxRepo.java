@@ -0,0 +1,17 @@
+package com.ejada.transactions.Repos;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.ejada.transactions.Models.OutboxMessage;
+
+@Repository
+public interface OutboxRepo extends JpaRepository<OutboxMessage, UUID> {
+
+    // Oldest pending messages first
+    public List<OutboxMessage> findAllByOrderByIdAsc(Pageable pageable);
+}
@@ -1,20 +1,130 @@
 package com.ejada.transactions.Repos;
 
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.ejada.transactions.Models.TransactionModel;
+import com.ejada.transactions.Models.TransactionStatus;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface TransactionRepo extends JpaRepository<TransactionModel, UUID> {
 
-    
-    // Find all transactions for a specific account (as sender or receiver) ordered by date descending
-    public List<TransactionModel> findByFromAccountIdOrToAccountId(UUID fromAccountId, UUID toAccountId);
-    
+
+    // History lookups read each side of a transfer through its own (account, created_at, id) index and merge
+    // the two ordered branches; an OR across from_account_id and to_account_id would scan the whole table.
+    String COLUMNS = "id, from_account_id, to_account_id, amount, description, status, created_at, idempotency_key, request_hash, attempted_at";
+
+    // First page of an account's history (as sender or receiver), newest first
+    String LATEST_BY_ACCOUNT = "SELECT " + COLUMNS + " FROM ("
+            + " (SELECT " + COLUMNS + " FROM transactions WHERE from_account_id = :accountId ORDER BY created_at DESC, id DESC LIMIT :limit)"
+            + " UNION ALL"
+            + " (SELECT " + COLUMNS + " FROM transactions WHERE to_account_id = :accountId ORDER BY created_at DESC, id DESC LIMIT :limit)"
+            + ") t ORDER BY created_at DESC, id DESC LIMIT :limit";
+
+    // Next page of an account's history: everything strictly older than the (createdAt, id) cursor
+    String BY_ACCOUNT_BEFORE = "SELECT " + COLUMNS + " FROM ("
+            + " (SELECT " + COLUMNS + " FROM transactions WHERE from_account_id = :accountId AND (created_at, id) < (:createdAt, :id)"
+            + "  ORDER BY created_at DESC, id DESC LIMIT :limit)"
+            + " UNION ALL"
+            + " (SELECT " + COLUMNS + " FROM transactions WHERE to_account_id = :accountId AND (created_at, id) < (:createdAt, :id)"
+            + "  ORDER BY created_at DESC, id DESC LIMIT :limit)"
+            + ") t ORDER BY created_at DESC, id DESC LIMIT :limit";
+
+    // Whole history of an account, newest first. Each branch is an index range on its own account column,
+    // so only the account's rows are read and sorted, never the whole table.
+    String HISTORY_BY_ACCOUNT = "SELECT " + COLUMNS + " FROM ("
+            + " (SELECT " + COLUMNS + " FROM transactions WHERE from_account_id = :accountId)"
+            + " UNION ALL"
+            + " (SELECT " + COLUMNS + " FROM transactions WHERE to_account_id = :accountId)"
+            + ") t ORDER BY created_at DESC, id DESC";
+
+    @Query(value = LATEST_BY_ACCOUNT, nativeQuery = true)
+    public List<TransactionModel> findLatestByAccountId(@Param("accountId") UUID accountId, @Param("limit") int limit);
+
+    @Query(value = BY_ACCOUNT_BEFORE, nativeQuery = true)
+    public List<TransactionModel> findByAccountIdBefore(@Param("accountId") UUID accountId,
+            @Param("createdAt") Timestamp createdAt, @Param("id") UUID id, @Param("limit") int limit);
+
+    // Whole history of an account, newest first, read through a JDBC cursor. Must be consumed inside a transaction and closed.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(value = HISTORY_BY_ACCOUNT, nativeQuery = true)
+    public Stream<TransactionModel> streamByAccountId(@Param("accountId") UUID accountId);
+
     // Find the newest transaction for a specific account (as sender or receiver)
-    public TransactionModel findFirstByFromAccountIdOrToAccountIdOrderByCreatedAtDesc(UUID fromAccountId, UUID toAccountId);
+    @Query(value = "SELECT " + COLUMNS + " FROM ("
+            + " (SELECT " + COLUMNS + " FROM transactions WHERE from_account_id = :accountId ORDER BY created_at DESC, id DESC LIMIT 1)"
+            + " UNION ALL"
+            + " (SELECT " + COLUMNS + " FROM transactions WHERE to_account_id = :accountId ORDER BY created_at DESC, id DESC LIMIT 1)"
+            + ") t ORDER BY created_at DESC, id DESC LIMIT 1", nativeQuery = true)
+    public TransactionModel findLatestOneByAccountId(@Param("accountId") UUID accountId);
+
+    // Newest transactions of each of the given accounts in a single query, at most perAccount per account.
+    // A transfer between two of the accounts is returned once for each side.
+    @Query(value = "SELECT " + COLUMNS + " FROM ("
+            + " SELECT t.*, ROW_NUMBER() OVER (PARTITION BY t.account_id ORDER BY t.created_at DESC, t.id DESC) AS rn FROM ("
+            + "  SELECT tx.*, tx.from_account_id AS account_id FROM transactions tx WHERE tx.from_account_id IN (:accountIds)"
+            + "  UNION ALL"
+            + "  SELECT tx.*, tx.to_account_id AS account_id FROM transactions tx WHERE tx.to_account_id IN (:accountIds)"
+            + " ) t"
+            + ") ranked WHERE rn <= :perAccount ORDER BY created_at DESC, id DESC", nativeQuery = true)
+    public List<TransactionModel> findLatestByAccountIds(@Param("accountIds") Collection<UUID> accountIds, @Param("perAccount") int perAccount);
+
+    // Records the outcome of a transfer without loading the row first
+    @Transactional
+    @Modifying
+    @Query("UPDATE TransactionModel t SET t.status = :status WHERE t.id = :id")
+    public int updateStatus(@Param("id") UUID id, @Param("status") TransactionStatus status);
+
+    public Optional<TransactionModel> findByIdempotencyKey(String idempotencyKey);
+
+    // Claims a transaction for execution under the given key. Only one caller can move the key
+    // from NULL, so exactly one of several concurrent retries goes on to call the accounts service.
+    // A PENDING transfer already belongs to the accounts service and cannot be claimed.
+    @Transactional
+    @Modifying
+    @Query("UPDATE TransactionModel t SET t.idempotencyKey = :key, t.requestHash = :requestHash, t.attemptedAt = :now "
+            + "WHERE t.id = :id AND t.idempotencyKey IS NULL AND t.status IN "
+            + "(com.ejada.transactions.Models.TransactionStatus.INITIATED, com.ejada.transactions.Models.TransactionStatus.FAILED)")
+    public int claimExecution(@Param("id") UUID id, @Param("key") String key, @Param("requestHash") String requestHash,
+            @Param("now") Timestamp now);
+
+    // Takes over a transfer whose last attempt timed out without an answer, once that attempt is older
+    // than staleBefore. Only one retry wins, and it asks the accounts service again under the same ID.
+    @Transactional
+    @Modifying
+    @Query("UPDATE TransactionModel t SET t.attemptedAt = :now WHERE t.id = :id "
+            + "AND t.status = com.ejada.transactions.Models.TransactionStatus.INITIATED AND t.attemptedAt < :staleBefore")
+    public int reclaimAttempt(@Param("id") UUID id, @Param("now") Timestamp now, @Param("staleBefore") Timestamp staleBefore);
+
+    // Frees the key of a rejected attempt so the client can retry it
+    @Transactional
+    @Modifying
+    @Query("UPDATE TransactionModel t SET t.idempotencyKey = NULL, t.requestHash = NULL WHERE t.id = :id")
+    public int releaseIdempotencyKey(@Param("id") UUID id);
+
+    // Applies the outcome reported by the accounts service; a repeated or late result finds nothing to update
+    @Transactional
+    @Modifying
+    @Query("UPDATE TransactionModel t SET t.status = :status WHERE t.id = :id "
+            + "AND t.status = com.ejada.transactions.Models.TransactionStatus.PENDING")
+    public int completeTransfer(@Param("id") UUID id, @Param("status") TransactionStatus status);
 }
@@ -0,0 +1,41 @@
+package com.ejada.transactions.Services;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ejada.transactions.dto.TransactionResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Bounded in-memory copy of completed transfers by idempotency key, so a client retry is
+ * answered without a database read. Only successful results are kept; the database stays
+ * the source of truth and is consulted on a miss. Each result is kept with the hash of the
+ * request that produced it, so a key reused for a different request is recognised.
+ */
+@Component
+public class IdempotencyCache {
+
+    public record CachedTransfer(String requestHash, TransactionResponse response) {
+    }
+
+    private final Cache<String, CachedTransfer> responses;
+
+    public IdempotencyCache(@Value("${transactions.idempotency.cache.ttl:24h}") Duration ttl,
+                            @Value("${transactions.idempotency.cache.maximum-size:100000}") long maximumSize) {
+        this.responses = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public CachedTransfer get(String idempotencyKey) {
+        return responses.getIfPresent(idempotencyKey);
+    }
+
+    public void put(String idempotencyKey, String requestHash, TransactionResponse response) {
+        responses.put(idempotencyKey, new CachedTransfer(requestHash, response));
+    }
+}
@@ -1,14 +1,16 @@
 package com.ejada.transactions.Services;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class KafkaProducerService {
@@ -16,22 +18,31 @@ public class KafkaProducerService {
     @Autowired
     private KafkaTemplate<String, HashMap<String, Object>> kafkaTemplate;
 
-    private HashMap<String, Object> log = new HashMap<>();
-
-    private final ObjectMapper objectMapper = new ObjectMapper();
-
-    public void sendMessage(Object message, String messageType) {
-        try {
-            if(message == null) {
-                message = new HashMap<>();
-            }
-            String jsonString = objectMapper.writeValueAsString(message);
-            log.put("message", jsonString);
-            log.put("messageType", messageType);
-            log.put("dateTime", Instant.now().toString());
-            kafkaTemplate.send("Logs", log);
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
+    /**
+     * Publishes an account change to AccountEvents so readers such as the BFF dashboard
+     * cache can drop stale data. Inside a transaction the event is sent after commit.
+     */
+    public void sendAccountEvent(String eventType, Collection<UUID> accountIds, Collection<UUID> userIds) {
+        HashMap<String, Object> event = new HashMap<>();
+        event.put("eventType", eventType);
+        event.put("accountIds", accountIds.stream().map(UUID::toString).toList());
+        event.put("userIds", userIds.stream().map(UUID::toString).toList());
+        event.put("dateTime", Instant.now().toString());
+        String key = accountIds.isEmpty() ? null : accountIds.iterator().next().toString();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    kafkaTemplate.send("AccountEvents", key, event);
+                }
+            });
+        } else {
+            kafkaTemplate.send("AccountEvents", key, event);
         }
     }
+
+    public void sendAccountEvent(String eventType, Collection<UUID> accountIds) {
+        sendAccountEvent(eventType, accountIds, List.of());
+    }
 }
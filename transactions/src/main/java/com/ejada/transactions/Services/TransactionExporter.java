@@ -0,0 +1,115 @@
+package com.ejada.transactions.Services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ejada.transactions.Models.TransactionModel;
+import com.ejada.transactions.Repos.TransactionRepo;
+import com.ejada.transactions.dto.TransactionExportFormat;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Writes an account's full transaction history straight from a database cursor to an
+ * output stream. Each row is detached once written, so memory use does not depend on
+ * how long the history is.
+ */
+@Service
+public class TransactionExporter {
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private static final String CSV_HEADER = "id,fromAccountId,toAccountId,amount,description,status,createdAt";
+
+    @Autowired
+    private TransactionRepo transactionRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Transactional(readOnly = true)
+    public long export(UUID accountId, TransactionExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long rows = 0;
+        try (Stream<TransactionModel> transactions = transactionRepo.streamByAccountId(accountId)) {
+            if (format == TransactionExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            Iterator<TransactionModel> iterator = transactions.iterator();
+            while (iterator.hasNext()) {
+                TransactionModel transaction = iterator.next();
+                if (format == TransactionExportFormat.CSV) {
+                    writeCsv(transaction, writer);
+                } else {
+                    writeJson(transaction, writer);
+                }
+                entityManager.detach(transaction);
+                if (++rows % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private void writeJson(TransactionModel transaction, Writer writer) throws IOException {
+        // A generator per row so it never closes or buffers past the shared writer
+        JsonGenerator json = jsonFactory.createGenerator(writer);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.writeStartObject();
+        json.writeStringField("id", String.valueOf(transaction.getId()));
+        json.writeStringField("fromAccountId", String.valueOf(transaction.getFromAccountId()));
+        json.writeStringField("toAccountId", String.valueOf(transaction.getToAccountId()));
+        json.writeNumberField("amount", transaction.getAmount());
+        json.writeStringField("description", transaction.getDescription());
+        json.writeStringField("status", String.valueOf(transaction.getStatus()));
+        json.writeStringField("createdAt", transaction.getCreatedAt() != null ? transaction.getCreatedAt().toInstant().toString() : null);
+        json.writeEndObject();
+        json.flush();
+        writer.write('\n');
+    }
+
+    private void writeCsv(TransactionModel transaction, Writer writer) throws IOException {
+        writer.write(String.valueOf(transaction.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(transaction.getFromAccountId()));
+        writer.write(',');
+        writer.write(String.valueOf(transaction.getToAccountId()));
+        writer.write(',');
+        writer.write(transaction.getAmount() != null ? transaction.getAmount().toPlainString() : "");
+        writer.write(',');
+        writer.write(csvField(transaction.getDescription()));
+        writer.write(',');
+        writer.write(String.valueOf(transaction.getStatus()));
+        writer.write(',');
+        writer.write(transaction.getCreatedAt() != null ? transaction.getCreatedAt().toInstant().toString() : "");
+        writer.write('\n');
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
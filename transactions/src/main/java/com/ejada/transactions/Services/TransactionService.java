@@ -1,7 +1,9 @@
 package com.ejada.transactions.Services;
 
+import java.util.Set;
 import java.util.UUID;
 
+import com.ejada.transactions.dto.AccountTransactionsBatchResponse;
 import com.ejada.transactions.dto.TransactionExecutionRequest;
 import com.ejada.transactions.dto.TransactionListResponse;
 import com.ejada.transactions.dto.TransactionRequest;
@@ -14,7 +16,9 @@ public interface TransactionService {
     
     TransactionResponse getLatestTransaction(UUID accountId);
     
-    TransactionListResponse getTransactions(UUID accountId);
+    TransactionListResponse getTransactions(UUID accountId, String cursor, Integer size);
+    
+    AccountTransactionsBatchResponse getTransactions(Set<UUID> accountIds, Integer limitPerAccount);
     
     TransactionResponse initiateTransaction(TransactionRequest request);
     
@@ -22,7 +26,11 @@ public interface TransactionService {
     
     TransactionResponse executeTransaction(UUID transactionId);
     
-    TransactionResponse executeTransfer(TransactionExecutionRequest request);
+    TransactionResponse executeTransfer(TransactionExecutionRequest request, String idempotencyKey);
+    
+    TransactionResponse transfer(TransactionRequest request, String idempotencyKey);
+    
+    TransactionResponse submitTransfer(TransactionRequest request, String idempotencyKey);
     
     TransactionResponse cancelTransaction(UUID transactionId);
     
@@ -0,0 +1,128 @@
+package com.ejada.transactions.Services;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ejada.transactions.Models.OutboxMessage;
+import com.ejada.transactions.Models.TransactionModel;
+import com.ejada.transactions.Repos.OutboxRepo;
+import com.ejada.transactions.Repos.TransactionRepo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Hands transfers to the accounts service over Kafka. The transaction row and its
+ * TransferCommands message are committed together, and a scheduled relay publishes
+ * pending messages and deletes them once acknowledged. A crash between publishing and
+ * deleting sends the command again; accounts drops repeats by transaction ID.
+ */
+@Service
+public class TransferOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferOutbox.class);
+
+    public static final String TRANSFER_COMMANDS_TOPIC = "TransferCommands";
+
+    @Autowired
+    private TransactionRepo transactionRepo;
+
+    @Autowired
+    private OutboxRepo outboxRepo;
+
+    @Autowired
+    private KafkaTemplate<String, HashMap<String, Object>> kafkaTemplate;
+
+    @Value("${transactions.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${transactions.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Transactional
+    public TransactionModel submit(TransactionModel transaction) {
+        // Flushed here so a duplicate idempotency key fails before the command is queued
+        TransactionModel saved = transactionRepo.saveAndFlush(transaction);
+
+        HashMap<String, Object> command = new HashMap<>();
+        command.put("transactionId", saved.getId().toString());
+        command.put("fromAccountId", saved.getFromAccountId().toString());
+        command.put("toAccountId", saved.getToAccountId().toString());
+        // As a string so the amount is not read back as a double on the other side
+        command.put("amount", saved.getAmount().toPlainString());
+        command.put("dateTime", Instant.now().toString());
+
+        OutboxMessage message = new OutboxMessage();
+        message.setTopic(TRANSFER_COMMANDS_TOPIC);
+        message.setMessageKey(saved.getFromAccountId().toString());
+        try {
+            message.setPayload(objectMapper.writeValueAsString(command));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize transfer command", e);
+        }
+        outboxRepo.save(message);
+        return saved;
+    }
+
+    @Scheduled(fixedDelayString = "${transactions.outbox.poll-interval-ms:200}")
+    public void relay() {
+        List<OutboxMessage> pending;
+        do {
+            pending = outboxRepo.findAllByOrderByIdAsc(PageRequest.of(0, batchSize));
+        } while (publish(pending) && pending.size() == batchSize);
+    }
+
+    // Returns whether every message was acknowledged. Only the acknowledged prefix is deleted:
+    // everything from the first failure on waits for the next run and is sent again in order,
+    // so an account's commands never overtake one that failed.
+    private boolean publish(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return true;
+        }
+        // Send the whole batch before waiting, so the producer can pack it into few requests
+        List<CompletableFuture<?>> sends = new ArrayList<>(messages.size());
+        for (OutboxMessage message : messages) {
+            sends.add(kafkaTemplate.send(message.getTopic(), message.getMessageKey(), payload(message)));
+        }
+        List<UUID> sent = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            try {
+                sends.get(i).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                sent.add(messages.get(i).getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.warn("Error publishing outbox message {}, retrying from it on the next run", messages.get(i).getId(), e);
+                break;
+            }
+        }
+        outboxRepo.deleteAllByIdInBatch(sent);
+        return sent.size() == messages.size();
+    }
+
+    private HashMap<String, Object> payload(OutboxMessage message) {
+        try {
+            return objectMapper.readValue(message.getPayload(), new TypeReference<HashMap<String, Object>>() {});
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt outbox message " + message.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.ejada.transactions.Services;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import com.ejada.transactions.Models.TransactionModel;
+import com.ejada.transactions.Models.TransactionStatus;
+import com.ejada.transactions.Repos.TransactionRepo;
+
+@Service
+public class TransferResultListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferResultListener.class);
+
+    @Autowired
+    private TransactionRepo transactionRepo;
+
+    @Autowired
+    private KafkaProducerService kafkaProducerService;
+
+    // Outcomes of TransferCommands published by the accounts service. Only a PENDING
+    // transaction moves, so a redelivered result changes nothing.
+    @KafkaListener(topics = "TransferResults", groupId = "transactions-transfer-results")
+    public void listen(HashMap<String, Object> result) {
+        try {
+            UUID transactionId = UUID.fromString(result.get("transactionId").toString());
+            TransactionStatus status = TransactionStatus.valueOf(result.get("status").toString());
+            if (transactionRepo.completeTransfer(transactionId, status) == 0) {
+                return;
+            }
+            TransactionModel transaction = transactionRepo.findById(transactionId).orElseThrow();
+            String eventType = status == TransactionStatus.SUCCESS ? "TRANSACTION_EXECUTED" : "TRANSACTION_CANCELLED";
+            kafkaProducerService.sendAccountEvent(eventType, List.of(transaction.getFromAccountId(), transaction.getToAccountId()));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            log.error("Error processing transfer result {}", result, e);
+        }
+    }
+}
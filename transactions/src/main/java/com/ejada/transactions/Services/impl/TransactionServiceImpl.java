@@ -1,28 +1,58 @@
 package com.ejada.transactions.Services.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import com.ejada.transactions.Models.TransactionStatus;
+import com.ejada.transactions.dto.AccountTransactionsBatchResponse;
+import com.ejada.transactions.dto.TransactionCursor;
 import com.ejada.transactions.dto.TransactionExecutionRequest;
 import com.ejada.transactions.dto.TransactionListResponse;
 import com.ejada.transactions.dto.TransactionMapper;
 import com.ejada.transactions.dto.TransactionRequest;
 import com.ejada.transactions.dto.TransactionResponse;
 import com.ejada.transactions.exception.AccountServiceException;
+import com.ejada.transactions.exception.IdempotencyConflictException;
 import com.ejada.transactions.exception.InvalidTransactionException;
 import com.ejada.transactions.exception.TransactionExecutionException;
 import com.ejada.transactions.exception.TransactionNotFoundException;
+import com.ejada.transactions.exception.TransferOutcomeUnknownException;
 import com.ejada.transactions.Models.TransactionModel;
 import com.ejada.transactions.Repos.TransactionRepo;
+import com.ejada.transactions.Services.IdempotencyCache;
+import com.ejada.transactions.Services.IdempotencyCache.CachedTransfer;
+import com.ejada.transactions.Services.KafkaProducerService;
 import com.ejada.transactions.Services.TransactionService;
+import com.ejada.transactions.Services.TransferOutbox;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.RetryRegistry;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
 
 @Service
 public class TransactionServiceImpl implements TransactionService {
@@ -32,6 +62,55 @@ public class TransactionServiceImpl implements TransactionService {
     
     @Autowired
     private WebClient webClientAccounts;
+
+    @Autowired
+    private KafkaProducerService kafkaProducerService;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Autowired
+    private RetryRegistry retryRegistry;
+
+    @Autowired
+    private IdempotencyCache idempotencyCache;
+
+    @Autowired
+    private TransferOutbox transferOutbox;
+
+    private static final String ACCOUNT_SERVICE = "accountService";
+
+    private static final int IDEMPOTENCY_KEY_MAX_LENGTH = 64;
+
+    @Value("${transactions.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${transactions.page.max-size:100}")
+    private int maxPageSize;
+
+    // The transfer PUT waits longer than the shared response timeout rather than give up on a
+    // transfer the accounts service may still commit
+    @Value("${services.account.transfer-timeout:15s}")
+    private Duration transferTimeout;
+
+    // How long a transfer whose outcome is unknown is left alone before a retry may ask again
+    @Value("${transactions.transfer.reconcile-after:30s}")
+    private Duration reconcileAfter;
+
+    /**
+     * Runs a call to the accounts service through its bulkhead and circuit breaker, so a
+     * degraded accounts service is rejected straight away instead of holding request threads.
+     * Only idempotent calls may be retried.
+     */
+    private <T> Mono<T> protect(Mono<T> call, boolean retry) {
+        Mono<T> guarded = call
+                .transformDeferred(BulkheadOperator.of(bulkheadRegistry.bulkhead(ACCOUNT_SERVICE)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(ACCOUNT_SERVICE)));
+        return retry ? guarded.transformDeferred(RetryOperator.of(retryRegistry.retry(ACCOUNT_SERVICE))) : guarded;
+    }
     
     @Override
     public TransactionResponse getTransaction(UUID transactionId) {
@@ -42,7 +121,7 @@ public class TransactionServiceImpl implements TransactionService {
 
     @Override
     public TransactionResponse getLatestTransaction(UUID accountId) {
-        TransactionModel transaction = transactionRepo.findFirstByFromAccountIdOrToAccountIdOrderByCreatedAtDesc(accountId, accountId);
+        TransactionModel transaction = transactionRepo.findLatestOneByAccountId(accountId);
         if (transaction == null) {
             throw new TransactionNotFoundException("No transactions found for account ID: " + accountId);
         }
@@ -50,14 +129,52 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
-    public TransactionListResponse getTransactions(UUID accountId) {
-        List<TransactionModel> transactions = transactionRepo.findByFromAccountIdOrToAccountId(accountId, accountId);
-        return TransactionMapper.toTransactionListResponse(transactions);
+    public TransactionListResponse getTransactions(UUID accountId, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        // One extra row tells whether an older page exists without a count query
+        int limit = pageSize + 1;
+        List<TransactionModel> transactions;
+        if (cursor == null || cursor.isBlank()) {
+            transactions = transactionRepo.findLatestByAccountId(accountId, limit);
+        } else {
+            TransactionCursor after = TransactionCursor.decode(cursor);
+            transactions = transactionRepo.findByAccountIdBefore(accountId, after.getCreatedAt(), after.getId(), limit);
+        }
+
+        if (transactions.size() <= pageSize) {
+            return TransactionMapper.toTransactionListResponse(transactions, null);
+        }
+        List<TransactionModel> page = transactions.subList(0, pageSize);
+        return TransactionMapper.toTransactionListResponse(page, TransactionCursor.after(page.get(pageSize - 1)));
+    }
+
+    @Override
+    public AccountTransactionsBatchResponse getTransactions(Set<UUID> accountIds, Integer limitPerAccount) {
+        List<TransactionModel> rows = transactionRepo.findLatestByAccountIds(accountIds, pageSize(limitPerAccount));
+        // A transfer between two requested accounts comes back once per side; the mapper lists it under both
+        return TransactionMapper.toAccountTransactionsBatchResponse(new LinkedHashSet<>(rows), accountIds);
+    }
+
+    private int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
     }
     
     @Override
     public TransactionResponse initiateTransaction(TransactionRequest request) {
-        if (request.getAmount() <= 0) {
+        TransactionModel savedTransaction = saveInitiated(request, null);
+        sendTransactionEvent("TRANSACTION_INITIATED", savedTransaction);
+        return TransactionMapper.toTransactionResponse(savedTransaction);
+    }
+
+    private TransactionModel saveInitiated(TransactionRequest request, String idempotencyKey) {
+        return transactionRepo.save(newInitiated(request, idempotencyKey));
+    }
+
+    private TransactionModel newInitiated(TransactionRequest request, String idempotencyKey) {
+        if (request.getAmount().signum() <= 0) {
             throw new InvalidTransactionException("Transaction amount must be positive");
         }
         
@@ -68,26 +185,149 @@ public class TransactionServiceImpl implements TransactionService {
         TransactionModel newTransaction = TransactionMapper.toTransactionModel(request);
         newTransaction.setStatus(TransactionStatus.INITIATED);
         newTransaction.setCreatedAt(new java.sql.Timestamp(System.currentTimeMillis()));
-        
-        TransactionModel savedTransaction = transactionRepo.save(newTransaction);
-        return TransactionMapper.toTransactionResponse(savedTransaction);
+        newTransaction.setIdempotencyKey(idempotencyKey);
+        return newTransaction;
+    }
+
+    @Override
+    public TransactionResponse transfer(TransactionRequest request, String idempotencyKey) {
+        checkIdempotencyKey(idempotencyKey);
+        String requestHash = requestHash(request);
+        if (idempotencyKey != null) {
+            CachedTransfer cached = idempotencyCache.get(idempotencyKey);
+            if (cached != null) {
+                return replayed(cached, requestHash);
+            }
+        }
+
+        // No existence GETs up front: the accounts service checks both accounts and the balance
+        // inside its own transfer, and the status is recorded without reading the row back
+        TransactionModel transaction = newInitiated(request, idempotencyKey);
+        transaction.setRequestHash(requestHash);
+        transaction.setAttemptedAt(now());
+        try {
+            transaction = transactionRepo.save(transaction);
+        } catch (DataIntegrityViolationException e) {
+            // A retry lost the insert race on the unique key
+            if (idempotencyKey == null) {
+                throw e;
+            }
+            return replayTransfer(idempotencyKey, requestHash);
+        }
+        return attemptTransfer(transaction, idempotencyKey, idempotencyKey, true);
+    }
+
+    private TransactionResponse replayTransfer(String idempotencyKey, String requestHash) {
+        TransactionModel transaction = transactionRepo.findByIdempotencyKey(idempotencyKey)
+            .orElseThrow(() -> new IdempotencyConflictException("Transfer with this idempotency key is being retried, please retry later"));
+        if (!requestHash.equals(transaction.getRequestHash())) {
+            throw new IdempotencyConflictException("Idempotency key was already used for a different request");
+        }
+        return reconcile(transaction, idempotencyKey, idempotencyKey);
+    }
+
+    /**
+     * Answers a retry for a transaction that already holds its claim key: the stored result once
+     * it succeeded, another attempt under the same transaction ID once the previous one has
+     * timed out without an answer (the accounts service applies each ID at most once), and a
+     * conflict while an attempt may still be running.
+     */
+    private TransactionResponse reconcile(TransactionModel transaction, String idempotencyKey, String claimKey) {
+        if (transaction.getStatus() == TransactionStatus.SUCCESS) {
+            TransactionResponse response = TransactionMapper.toTransactionResponse(transaction);
+            idempotencyCache.put(idempotencyKey, transaction.getRequestHash(), response);
+            return response;
+        }
+        Timestamp now = now();
+        if (transaction.getStatus() == TransactionStatus.INITIATED
+                && transactionRepo.reclaimAttempt(transaction.getId(), now, new Timestamp(now.getTime() - reconcileAfter.toMillis())) == 1) {
+            return attemptTransfer(transaction, idempotencyKey, claimKey, false);
+        }
+        throw new IdempotencyConflictException("Transfer with this idempotency key is still in progress");
+    }
+
+    /**
+     * Asks the accounts service to apply the transfer and records the answer. Only a definite
+     * rejection fails the transaction and frees its claim key (the client's key, or the
+     * transaction ID for a keyless execution); when the outcome is unknown the row stays
+     * INITIATED with the key held, so a retry reconciles it instead of paying twice.
+     */
+    private TransactionResponse attemptTransfer(TransactionModel transaction, String idempotencyKey, String claimKey, boolean firstAttempt) {
+        try {
+            applyTransfer(transaction, idempotencyKey);
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            // Never sent; but an earlier attempt may have been applied, so only a first attempt fails here
+            if (firstAttempt) {
+                reject(transaction, claimKey);
+            }
+            throw e;
+        } catch (TransactionExecutionException e) {
+            reject(transaction, claimKey);
+            throw e;
+        }
+        recordStatus(transaction, TransactionStatus.SUCCESS, "TRANSACTION_EXECUTED");
+        TransactionResponse response = TransactionMapper.toTransactionResponse(transaction);
+        if (idempotencyKey != null) {
+            idempotencyCache.put(idempotencyKey, transaction.getRequestHash(), response);
+        }
+        return response;
+    }
+
+    private void reject(TransactionModel transaction, String claimKey) {
+        recordStatus(transaction, TransactionStatus.FAILED, "TRANSACTION_CANCELLED");
+        if (claimKey != null) {
+            transactionRepo.releaseIdempotencyKey(transaction.getId());
+        }
+    }
+
+    @Override
+    public TransactionResponse submitTransfer(TransactionRequest request, String idempotencyKey) {
+        checkIdempotencyKey(idempotencyKey);
+        TransactionModel transaction = newInitiated(request, idempotencyKey);
+        transaction.setStatus(TransactionStatus.PENDING);
+        transaction.setRequestHash(requestHash(request));
+        try {
+            // The row and its TransferCommands message commit together; the outcome arrives on TransferResults
+            transaction = transferOutbox.submit(transaction);
+        } catch (DataIntegrityViolationException e) {
+            if (idempotencyKey == null) {
+                throw e;
+            }
+            // Already accepted under this key: report where it is now
+            TransactionModel accepted = transactionRepo.findByIdempotencyKey(idempotencyKey)
+                .orElseThrow(() -> new IdempotencyConflictException("Transfer with this idempotency key is being retried, please retry later"));
+            if (!transaction.getRequestHash().equals(accepted.getRequestHash())) {
+                throw new IdempotencyConflictException("Idempotency key was already used for a different request");
+            }
+            return TransactionMapper.toTransactionResponse(accepted);
+        }
+        sendTransactionEvent("TRANSACTION_INITIATED", transaction);
+        return TransactionMapper.toTransactionResponse(transaction);
+    }
+
+    private void recordStatus(TransactionModel transaction, TransactionStatus status, String eventType) {
+        transactionRepo.updateStatus(transaction.getId(), status);
+        transaction.setStatus(status);
+        sendTransactionEvent(eventType, transaction);
     }
 
     @Override
     public TransactionResponse initiateTransactionWithValidation(TransactionRequest request) {
         // Validate accounts exist by calling account service
         try {
-            ResponseEntity<Object> fromAccount = webClientAccounts.get()
+            ResponseEntity<Object> fromAccount = protect(webClientAccounts.get()
                     .uri("/{accountId}", request.getFromAccountId())
-                    .retrieve().toEntity(Object.class).block();
-            ResponseEntity<Object> toAccount = webClientAccounts.get()
+                    .retrieve().toEntity(Object.class), true).block();
+            ResponseEntity<Object> toAccount = protect(webClientAccounts.get()
                     .uri("/{accountId}", request.getToAccountId())
-                    .retrieve().toEntity(Object.class).block();
+                    .retrieve().toEntity(Object.class), true).block();
                     
             if (fromAccount == null || toAccount == null || 
                 fromAccount.getStatusCode().isError() || toAccount.getStatusCode().isError()) {
                 throw new AccountServiceException("Invalid accounts or account service unavailable");
             }
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             throw new AccountServiceException("Failed to validate accounts: " + e.getMessage());
         }
@@ -100,9 +340,11 @@ public class TransactionServiceImpl implements TransactionService {
     public TransactionResponse executeTransaction(UUID transactionId) {
         TransactionModel transaction = transactionRepo.findById(transactionId)
             .orElseThrow(() -> new TransactionNotFoundException("Transaction not found with ID: " + transactionId));
+        checkNotPending(transaction);
         
         transaction.setStatus(TransactionStatus.SUCCESS);
         TransactionModel savedTransaction = transactionRepo.save(transaction);
+        sendTransactionEvent("TRANSACTION_EXECUTED", savedTransaction);
         return TransactionMapper.toTransactionResponse(savedTransaction);
     }
 
@@ -110,34 +352,128 @@ public class TransactionServiceImpl implements TransactionService {
     public TransactionResponse cancelTransaction(UUID transactionId) {
         TransactionModel transaction = transactionRepo.findById(transactionId)
             .orElseThrow(() -> new TransactionNotFoundException("Transaction not found with ID: " + transactionId));
+        checkNotPending(transaction);
         
         transaction.setStatus(TransactionStatus.FAILED);
         TransactionModel savedTransaction = transactionRepo.save(transaction);
+        sendTransactionEvent("TRANSACTION_CANCELLED", savedTransaction);
         return TransactionMapper.toTransactionResponse(savedTransaction);
     }
     
+    // A submitted transfer is settled by the accounts service's result, never by hand
+    private void checkNotPending(TransactionModel transaction) {
+        if (transaction.getStatus() == TransactionStatus.PENDING) {
+            throw new IdempotencyConflictException("Transaction " + transaction.getId() + " is being processed by the account service");
+        }
+    }
+    
     @Override
-    public TransactionResponse executeTransfer(TransactionExecutionRequest request) {
-        // Get transaction model for account service interaction
-        TransactionModel transaction = getTransactionModel(request.getTransactionId());
-        
-        if (transaction.getStatus() == TransactionStatus.SUCCESS) {
+    public TransactionResponse executeTransfer(TransactionExecutionRequest request, String idempotencyKey) {
+        UUID transactionId = request.getTransactionId();
+        checkIdempotencyKey(idempotencyKey);
+        String requestHash = requestHash(transactionId);
+        if (idempotencyKey != null) {
+            CachedTransfer cached = idempotencyCache.get(idempotencyKey);
+            if (cached != null) {
+                return replayed(cached, requestHash);
+            }
+        }
+
+        // Without a client key the transaction ID stands in, so concurrent executions still cannot double-debit
+        String claimKey = idempotencyKey != null ? idempotencyKey : transactionId.toString();
+        int claimed;
+        try {
+            claimed = transactionRepo.claimExecution(transactionId, claimKey, requestHash, now());
+        } catch (DataIntegrityViolationException e) {
+            // The key is already held by another transaction or by a /transfer request
+            throw new IdempotencyConflictException("Idempotency key was already used for a different request");
+        }
+        if (claimed == 0) {
+            return replayExecution(transactionId, idempotencyKey, claimKey, requestHash);
+        }
+
+        return attemptTransfer(getTransactionModel(transactionId), idempotencyKey, claimKey, true);
+    }
+
+    // The claim was lost: the transaction is done, another request holds it, or its last attempt timed out
+    private TransactionResponse replayExecution(UUID transactionId, String idempotencyKey, String claimKey, String requestHash) {
+        TransactionModel transaction = getTransactionModel(transactionId);
+        if (transaction.getStatus() == TransactionStatus.SUCCESS
+                && (idempotencyKey == null || !idempotencyKey.equals(transaction.getIdempotencyKey()))) {
             throw new TransactionExecutionException("Transaction already executed");
         }
-        
-        // Execute transfer with account service
+        if (!claimKey.equals(transaction.getIdempotencyKey())) {
+            throw new IdempotencyConflictException("Transaction " + transactionId + " is already being executed");
+        }
+        if (!requestHash.equals(transaction.getRequestHash())) {
+            throw new IdempotencyConflictException("Idempotency key was already used for a different request");
+        }
+        return reconcile(transaction, idempotencyKey, claimKey);
+    }
+
+    private TransactionResponse replayed(CachedTransfer cached, String requestHash) {
+        if (!requestHash.equals(cached.requestHash())) {
+            throw new IdempotencyConflictException("Idempotency key was already used for a different request");
+        }
+        return cached.response();
+    }
+
+    // Identifies what a key was used for: the transfer itself, or the execution of one transaction
+    private static String requestHash(TransactionRequest request) {
+        return sha256("transfer:" + request.getFromAccountId() + ":" + request.getToAccountId() + ":"
+            + request.getAmount().stripTrailingZeros().toPlainString() + ":" + Objects.toString(request.getDescription(), ""));
+    }
+
+    private static String requestHash(UUID transactionId) {
+        return sha256("execution:" + transactionId);
+    }
+
+    private static String sha256(String value) {
         try {
-            ResponseEntity<HashMap<String, Object>> executeTransfer = webClientAccounts.put().uri("/transfer")
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Timestamp now() {
+        return new Timestamp(System.currentTimeMillis());
+    }
+
+    private void checkIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > IDEMPOTENCY_KEY_MAX_LENGTH)) {
+            throw new InvalidTransactionException("Idempotency key must be 1 to " + IDEMPOTENCY_KEY_MAX_LENGTH + " characters");
+        }
+    }
+    
+    /**
+     * Debits and credits the accounts through the accounts service, sending the transaction ID
+     * so the accounts service applies it at most once. A 4xx answer surfaces as
+     * TransactionExecutionException and a call that was never made as the breaker/bulkhead
+     * rejection. Anything else (a timeout, a 5xx, a dropped connection) may have been applied,
+     * and surfaces as TransferOutcomeUnknownException.
+     */
+    private void applyTransfer(TransactionModel transaction, String idempotencyKey) {
+        try {
+            ResponseEntity<HashMap<String, Object>> executeTransfer = protect(webClientAccounts.put().uri("/transfer")
+                    .httpRequest(httpRequest -> {
+                        if (httpRequest.getNativeRequest() instanceof HttpClientRequest nativeRequest) {
+                            nativeRequest.responseTimeout(transferTimeout);
+                        }
+                    })
                     .bodyValue(new HashMap<String, Object>() {
                         {
                             put("fromAccountId", transaction.getFromAccountId());
                             put("toAccountId", transaction.getToAccountId());
                             put("amount", transaction.getAmount());
+                            put("transactionId", transaction.getId());
                         }
                     })
                     .retrieve()
-                    .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), 
+                    // 5xx responses are left as WebClientResponseException so the breaker records them
+                    .onStatus(status -> status.is4xxClientError(), 
                              clientResponse -> clientResponse.bodyToMono(HashMap.class)
+                                     .defaultIfEmpty(new HashMap<>())
                                      .map(errorResponse -> {
                                          // Parse the actual ErrorResponse structure from account service
                                          String errorMessage = "Transfer failed";
@@ -158,13 +494,12 @@ public class TransactionServiceImpl implements TransactionService {
                                              return new TransactionExecutionException("Transfer failed: " + errorMessage);
                                          }
                                      }))
-                    .toEntity(new ParameterizedTypeReference<HashMap<String, Object>>() {})
+                    .toEntity(new ParameterizedTypeReference<HashMap<String, Object>>() {}), false)
                     .block();
 
             if (executeTransfer == null) {
-                // Cancel transaction and throw exception
-                cancelTransaction(transaction.getId());
-                throw new TransactionExecutionException("Transfer failed - no response from account service");
+                throw new TransferOutcomeUnknownException("Transfer " + transaction.getId() + " got no response from the account service; "
+                        + retryHint(transaction, idempotencyKey), null);
             }
             
             // Check if response contains success message
@@ -172,31 +507,23 @@ public class TransactionServiceImpl implements TransactionService {
             if (responseBody != null && responseBody.containsKey("message")) {
                 String message = (String) responseBody.get("message");
                 if (!message.contains("successful") && !message.contains("Account updated successfully")) {
-                    // Cancel transaction if the response doesn't indicate success
-                    cancelTransaction(transaction.getId());
                     throw new TransactionExecutionException("Transfer failed: " + message);
                 }
             }
             
-        } catch (TransactionExecutionException e) {
-            // Cancel transaction and re-throw
-            cancelTransaction(transaction.getId());
+        } catch (TransactionExecutionException | TransferOutcomeUnknownException | CallNotPermittedException | BulkheadFullException e) {
             throw e;
         } catch (Exception e) {
-            // Cancel transaction and re-throw
-            cancelTransaction(transaction.getId());
-            String errorMessage = e.getMessage();
-            if (errorMessage != null && errorMessage.contains("400")) {
-                throw new TransactionExecutionException("Transfer failed due to invalid transfer data or account issues");
-            } else if (errorMessage != null && errorMessage.contains("404")) {
-                throw new TransactionExecutionException("Transfer failed - account not found");
-            } else {
-                throw new TransactionExecutionException("Transfer execution failed: " + (errorMessage != null ? errorMessage : "Unknown error occurred"));
-            }
+            throw new TransferOutcomeUnknownException("Transfer " + transaction.getId() + " was sent but its outcome is not known yet; "
+                    + retryHint(transaction, idempotencyKey), e);
         }
+    }
 
-        // Execute transaction (mark as successful)
-        return executeTransaction(transaction.getId());
+    // Without a client key the transaction ID is what a retry is reconciled by
+    private static String retryHint(TransactionModel transaction, String idempotencyKey) {
+        return idempotencyKey != null
+                ? "retry with the same Idempotency-Key to learn its outcome"
+                : "execute transaction " + transaction.getId() + " again to learn its outcome";
     }
     
     @Override
@@ -204,4 +531,8 @@ public class TransactionServiceImpl implements TransactionService {
         return transactionRepo.findById(transactionId)
             .orElseThrow(() -> new TransactionNotFoundException("Transaction not found with ID: " + transactionId));
     }
+
+    private void sendTransactionEvent(String eventType, TransactionModel transaction) {
+        kafkaProducerService.sendAccountEvent(eventType, List.of(transaction.getFromAccountId(), transaction.getToAccountId()));
+    }
 }
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.util.UUID;
 
@@ -14,7 +15,7 @@ public class AccountTransactionResponse {
     
     private UUID transactionId;
     private UUID accountId;
-    private Double amount;
+    private BigDecimal amount;
     private String description;
     private Timestamp timestamp;
 }
@@ -0,0 +1,27 @@
+package com.ejada.transactions.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountTransactionsBatchRequest {
+
+    @NotEmpty(message = "At least one account ID is required")
+    @Size(max = 100, message = "At most 100 account IDs can be requested at once")
+    private Set<UUID> accountIds;
+
+    // Newest transactions returned per account; the service default applies when omitted
+    @Min(value = 1, message = "limitPerAccount must be at least 1")
+    @Max(value = 100, message = "limitPerAccount must be at most 100")
+    private Integer limitPerAccount;
+}
@@ -0,0 +1,17 @@
+package com.ejada.transactions.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountTransactionsBatchResponse {
+
+    private Map<UUID, List<AccountTransactionResponse>> transactionsByAccount;
+}
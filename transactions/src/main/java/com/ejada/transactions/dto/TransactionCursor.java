@@ -0,0 +1,47 @@
+package com.ejada.transactions.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.ejada.transactions.Models.TransactionModel;
+import com.ejada.transactions.exception.InvalidTransactionException;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Position in an account's history: the (createdAt, id) of the last transaction of a page.
+ * Clients get it as an opaque URL-safe string and hand it back unchanged.
+ */
+@Getter
+@AllArgsConstructor
+public class TransactionCursor {
+
+    private Timestamp createdAt;
+    private UUID id;
+
+    public static TransactionCursor after(TransactionModel transaction) {
+        return new TransactionCursor(transaction.getCreatedAt(), transaction.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt.toInstant() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new TransactionCursor(
+                Timestamp.from(Instant.parse(raw.substring(0, separator))),
+                UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new InvalidTransactionException("Invalid page cursor", e);
+        }
+    }
+}
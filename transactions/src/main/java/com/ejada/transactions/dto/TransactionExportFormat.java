@@ -0,0 +1,27 @@
+package com.ejada.transactions.dto;
+
+import com.ejada.transactions.exception.InvalidTransactionException;
+
+public enum TransactionExportFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String contentType;
+
+    TransactionExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static TransactionExportFormat fromString(String format) {
+        for (TransactionExportFormat value : values()) {
+            if (value.name().equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new InvalidTransactionException("Unsupported export format: " + format);
+    }
+}
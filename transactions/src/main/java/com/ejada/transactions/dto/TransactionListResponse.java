@@ -12,4 +12,7 @@ import java.util.List;
 public class TransactionListResponse {
     
     private List<TransactionResponse> transactions;
+
+    // Opaque cursor for the next (older) page, null on the last page
+    private String nextCursor;
 }
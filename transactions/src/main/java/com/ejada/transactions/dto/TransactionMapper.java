@@ -2,7 +2,12 @@ package com.ejada.transactions.dto;
 
 import com.ejada.transactions.Models.TransactionModel;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -26,9 +31,9 @@ public class TransactionMapper {
         }
         
         // Determine if this is a debit or credit for the account
-        Double amount = transaction.getAmount();
+        BigDecimal amount = transaction.getAmount();
         if (transaction.getFromAccountId().equals(accountId)) {
-            amount = -amount; // Debit (negative amount)
+            amount = amount.negate(); // Debit (negative amount)
         }
         
         return new AccountTransactionResponse(
@@ -61,12 +66,42 @@ public class TransactionMapper {
     }
     
     public static TransactionListResponse toTransactionListResponse(List<TransactionModel> transactions) {
+        return toTransactionListResponse(transactions, null);
+    }
+    
+    public static TransactionListResponse toTransactionListResponse(List<TransactionModel> transactions, TransactionCursor nextCursor) {
         if (transactions == null) {
-            return new TransactionListResponse(null);
+            return new TransactionListResponse(null, null);
         }
         
         List<TransactionResponse> transactionResponses = toTransactionResponseList(transactions);
-        return new TransactionListResponse(transactionResponses);
+        return new TransactionListResponse(transactionResponses, nextCursor != null ? nextCursor.encode() : null);
+    }
+    
+    /**
+     * Groups transactions by the requested accounts they touch. A transfer between two
+     * requested accounts is listed under both, as a debit and as a credit.
+     */
+    public static AccountTransactionsBatchResponse toAccountTransactionsBatchResponse(Collection<TransactionModel> transactions, Collection<UUID> accountIds) {
+        Map<UUID, List<AccountTransactionResponse>> transactionsByAccount = new LinkedHashMap<>();
+        if (accountIds != null) {
+            accountIds.forEach(accountId -> transactionsByAccount.put(accountId, new ArrayList<>()));
+        }
+        
+        if (transactions != null) {
+            for (TransactionModel transaction : transactions) {
+                List<AccountTransactionResponse> fromTransactions = transactionsByAccount.get(transaction.getFromAccountId());
+                if (fromTransactions != null) {
+                    fromTransactions.add(toAccountTransactionResponse(transaction, transaction.getFromAccountId()));
+                }
+                List<AccountTransactionResponse> toTransactions = transactionsByAccount.get(transaction.getToAccountId());
+                if (toTransactions != null) {
+                    toTransactions.add(toAccountTransactionResponse(transaction, transaction.getToAccountId()));
+                }
+            }
+        }
+        
+        return new AccountTransactionsBatchResponse(transactionsByAccount);
     }
     
     /**
@@ -1,11 +1,13 @@
 package com.ejada.transactions.dto;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 
 @Data
@@ -21,7 +23,8 @@ public class TransactionRequest {
     
     @NotNull(message = "Amount is required")
     @Positive(message = "Amount must be positive")
-    private Double amount;
+    @Digits(integer = 15, fraction = 4, message = "Amount can have at most 4 decimal places")
+    private BigDecimal amount;
     
     private String description;
 }
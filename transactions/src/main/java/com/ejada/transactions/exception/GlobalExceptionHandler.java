@@ -1,8 +1,8 @@
 package com.ejada.transactions.exception;
 
 import com.ejada.transactions.dto.ErrorResponse;
-import com.ejada.transactions.Services.KafkaProducerService;
-import org.springframework.beans.factory.annotation.Autowired;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -17,9 +17,6 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-    @Autowired
-    private KafkaProducerService kafkaProducerService;
-
     @ExceptionHandler(TransactionNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleTransactionNotFoundException(TransactionNotFoundException ex) {
         ErrorResponse errorResponse = new ErrorResponse(
@@ -28,11 +25,6 @@ public class GlobalExceptionHandler {
             ex.getMessage()
         );
         
-        HashMap<String, Object> kafkaMessage = new HashMap<>();
-        kafkaMessage.put("message", ex.getMessage());
-        kafkaMessage.put("error", "TRANSACTION_NOT_FOUND");
-        kafkaProducerService.sendMessage(kafkaMessage, "Response");
-        
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
@@ -44,11 +36,6 @@ public class GlobalExceptionHandler {
             ex.getMessage()
         );
         
-        HashMap<String, Object> kafkaMessage = new HashMap<>();
-        kafkaMessage.put("message", ex.getMessage());
-        kafkaMessage.put("error", "INVALID_TRANSACTION");
-        kafkaProducerService.sendMessage(kafkaMessage, "Response");
-        
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
@@ -60,11 +47,6 @@ public class GlobalExceptionHandler {
             ex.getMessage()
         );
         
-        HashMap<String, Object> kafkaMessage = new HashMap<>();
-        kafkaMessage.put("message", ex.getMessage());
-        kafkaMessage.put("error", "ACCOUNT_SERVICE_ERROR");
-        kafkaProducerService.sendMessage(kafkaMessage, "Response");
-        
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
@@ -76,14 +58,43 @@ public class GlobalExceptionHandler {
             ex.getMessage()
         );
         
-        HashMap<String, Object> kafkaMessage = new HashMap<>();
-        kafkaMessage.put("message", ex.getMessage());
-        kafkaMessage.put("error", "TRANSACTION_EXECUTION_ERROR");
-        kafkaProducerService.sendMessage(kafkaMessage, "Response");
-        
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyConflictException(IdempotencyConflictException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            "Conflict",
+            ex.getMessage()
+        );
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    // The transfer may or may not have been applied: the client retries with the same Idempotency-Key to learn which
+    @ExceptionHandler(TransferOutcomeUnknownException.class)
+    public ResponseEntity<ErrorResponse> handleTransferOutcomeUnknownException(TransferOutcomeUnknownException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.ACCEPTED.value(),
+            "Accepted",
+            ex.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(errorResponse);
+    }
+
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    public ResponseEntity<ErrorResponse> handleAccountServiceUnavailable(RuntimeException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            "Account service is unavailable, please retry later"
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -99,11 +110,6 @@ public class GlobalExceptionHandler {
             "Validation failed: " + errors.toString()
         );
         
-        HashMap<String, Object> kafkaMessage = new HashMap<>();
-        kafkaMessage.put("message", "Validation failed");
-        kafkaMessage.put("errors", errors);
-        kafkaProducerService.sendMessage(kafkaMessage, "Response");
-        
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
@@ -117,11 +123,6 @@ public class GlobalExceptionHandler {
             "Invalid parameter type: " + ex.getName() + " should be of type " + typeName
         );
         
-        HashMap<String, Object> kafkaMessage = new HashMap<>();
-        kafkaMessage.put("message", errorResponse.getMessage());
-        kafkaMessage.put("error", "TYPE_MISMATCH_ERROR");
-        kafkaProducerService.sendMessage(kafkaMessage, "Response");
-        
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
@@ -133,11 +134,6 @@ public class GlobalExceptionHandler {
             "An unexpected error occurred: " + ex.getMessage()
         );
         
-        HashMap<String, Object> kafkaMessage = new HashMap<>();
-        kafkaMessage.put("message", "An unexpected error occurred");
-        kafkaMessage.put("error", "INTERNAL_SERVER_ERROR");
-        kafkaProducerService.sendMessage(kafkaMessage, "Response");
-        
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
 }
@@ -0,0 +1,8 @@
+package com.ejada.transactions.exception;
+
+public class TransferOutcomeUnknownException extends RuntimeException {
+
+    public TransferOutcomeUnknownException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
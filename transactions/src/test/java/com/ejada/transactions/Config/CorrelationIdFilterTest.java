@@ -0,0 +1,126 @@
+package com.ejada.transactions.Config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.ejada.logging.producer.CorrelationIdFilter;
+import com.ejada.logging.producer.LogPublisher.LogEvent;
+import com.ejada.logging.producer.RequestLogProducer;
+import com.ejada.logging.producer.RequestLoggingAdvice;
+import com.ejada.transactions.Controllers.TransactionController;
+import com.ejada.transactions.Services.TransactionExporter;
+import com.ejada.transactions.Services.TransactionService;
+import com.ejada.transactions.dto.ErrorResponse;
+import com.ejada.transactions.dto.TransactionExportFormat;
+import com.ejada.transactions.dto.TransactionListResponse;
+import com.ejada.transactions.dto.TransactionRequest;
+import com.ejada.transactions.exception.GlobalExceptionHandler;
+import com.ejada.transactions.exception.InvalidTransactionException;
+
+public class CorrelationIdFilterTest {
+
+    private final RequestLogProducer requestLogProducer = mock(RequestLogProducer.class);
+    private final TransactionService transactionService = mock(TransactionService.class);
+    private final TransactionExporter transactionExporter = mock(TransactionExporter.class);
+    private final UUID accountId = UUID.randomUUID();
+
+    private MockMvc mockMvc() {
+        CorrelationIdFilter filter = new CorrelationIdFilter(requestLogProducer);
+        TransactionController controller = new TransactionController();
+        ReflectionTestUtils.setField(controller, "transactionService", transactionService);
+        ReflectionTestUtils.setField(controller, "transactionExporter", transactionExporter);
+        return MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new RequestLoggingAdvice(), new GlobalExceptionHandler())
+                .addFilters(filter)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<List<LogEvent>> requestLogs() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    @Test
+    public void testFilter_LogsPathVariablesAndResponseBody() throws Exception {
+        // Given
+        TransactionListResponse transactions = new TransactionListResponse();
+        when(transactionService.getTransactions(accountId, null, 5)).thenReturn(transactions);
+        ArgumentCaptor<List<LogEvent>> requestLogs = requestLogs();
+
+        // When
+        mockMvc().perform(get("/transactions/accounts/{accountId}", accountId).param("size", "5")
+                        .header(CorrelationIdFilter.CORRELATION_ID_HEADER, "request-1"))
+                .andExpect(status().isOk());
+
+        // Then
+        verify(requestLogProducer).sendResponse(eq("request-1"), eq("GET /transactions/accounts/{accountId}"), eq(200),
+                anyLong(), requestLogs.capture(), eq(transactions));
+        LogEvent request = requestLogs.getValue().get(0);
+        assertEquals("Request", request.messageType());
+        assertEquals(Map.of("accountId", accountId.toString(), "size", "5"), request.message());
+    }
+
+    @Test
+    public void testFilter_LogsRequestBodyAndErrorResponse() throws Exception {
+        // Given
+        when(transactionService.initiateTransactionWithValidation(any()))
+                .thenThrow(new InvalidTransactionException("Insufficient funds"));
+        ArgumentCaptor<List<LogEvent>> requestLogs = requestLogs();
+        ArgumentCaptor<Object> response = ArgumentCaptor.forClass(Object.class);
+
+        // When
+        mockMvc().perform(post("/transactions/transfer/initiation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromAccountId\":\"" + accountId + "\",\"toAccountId\":\"" + UUID.randomUUID()
+                                + "\",\"amount\":10}"))
+                .andExpect(status().isBadRequest());
+
+        // Then
+        verify(requestLogProducer).sendResponse(any(), eq("POST /transactions/transfer/initiation"), eq(400),
+                anyLong(), requestLogs.capture(), response.capture());
+        TransactionRequest request = (TransactionRequest) requestLogs.getValue().get(0).message();
+        assertEquals(accountId, request.getFromAccountId());
+        assertEquals(0, BigDecimal.TEN.compareTo(request.getAmount()));
+        assertEquals("Insufficient funds", ((ErrorResponse) response.getValue()).getMessage());
+    }
+
+    @Test
+    public void testFilter_LogsStreamedResponseOnceComplete() throws Exception {
+        // Given
+        when(transactionExporter.export(eq(accountId), eq(TransactionExportFormat.CSV), any())).thenReturn(3L);
+        MockMvc mockMvc = mockMvc();
+
+        // When
+        MvcResult result = mockMvc.perform(get("/transactions/accounts/{accountId}/export", accountId).param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        // Then
+        verify(requestLogProducer).sendResponse(any(), eq("GET /transactions/accounts/{accountId}/export"), eq(200),
+                anyLong(), any(), eq(Map.of("accountId", accountId.toString(), "format", "csv", "rows", 3L)));
+    }
+}
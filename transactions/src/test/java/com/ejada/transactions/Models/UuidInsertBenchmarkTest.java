@@ -0,0 +1,67 @@
+package com.ejada.transactions.Models;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Insert throughput into a BINARY(16) primary key with random (v4) and time-ordered (v7)
+ * IDs. Skipped by default; run with
+ * mvn test -Dtest=UuidInsertBenchmarkTest -Dbenchmark=true -Dbenchmark.rows=10000000
+ * Uses a file-backed embedded database under target/, so numbers show the trend only.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class UuidInsertBenchmarkTest {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int REPORT_EVERY_ROWS = 1_000_000;
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).array();
+    }
+
+    private void insert(String label, Supplier<UUID> ids, int rows) throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:file:./target/uuid-benchmark-" + label, "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS bench");
+                statement.execute("CREATE TABLE bench (id BINARY(16) PRIMARY KEY, amount DOUBLE PRECISION)");
+            }
+            connection.setAutoCommit(false);
+            long start = System.nanoTime();
+            long windowStart = start;
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO bench (id, amount) VALUES (?, ?)")) {
+                for (int row = 1; row <= rows; row++) {
+                    insert.setBytes(1, bytes(ids.get()));
+                    insert.setDouble(2, row);
+                    insert.addBatch();
+                    if (row % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                    if (row % REPORT_EVERY_ROWS == 0) {
+                        long now = System.nanoTime();
+                        System.out.printf("%-3s %,12d rows %,12.0f rows/s%n", label, row, REPORT_EVERY_ROWS / ((now - windowStart) / 1e9));
+                        windowStart = now;
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+            }
+            System.out.printf("%-3s total %,12.0f rows/s%n", label, rows / ((System.nanoTime() - start) / 1e9));
+        }
+    }
+
+    @Test
+    public void benchmarkRandomVersusTimeOrderedInserts() throws Exception {
+        int rows = Integer.getInteger("benchmark.rows", 2_000_000);
+        insert("v4", UUID::randomUUID, rows);
+        insert("v7", UuidV7Generator::generate, rows);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ejada.transactions.Models;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+public class UuidV7GeneratorTest {
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).array();
+    }
+
+    @Test
+    public void testGenerate_SetsVersionVariantAndTimestamp() {
+        // Given
+        long before = System.currentTimeMillis();
+
+        // When
+        UUID uuid = UuidV7Generator.generate();
+
+        // Then
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        long millis = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= System.currentTimeMillis() + 1, "timestamp " + millis);
+    }
+
+    @Test
+    public void testGenerate_IsStrictlyIncreasingAsBinary() {
+        // Given
+        byte[] previous = bytes(UuidV7Generator.generate());
+
+        // When / Then: BINARY(16) keys compare as unsigned bytes, so that is the order that must hold
+        for (int i = 0; i < 100_000; i++) {
+            byte[] next = bytes(UuidV7Generator.generate());
+            assertTrue(Arrays.compareUnsigned(previous, next) < 0);
+            previous = next;
+        }
+    }
+}
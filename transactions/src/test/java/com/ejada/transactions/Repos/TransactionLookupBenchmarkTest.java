@@ -0,0 +1,92 @@
+package com.ejada.transactions.Repos;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.ejada.transactions.Models.TransactionModel;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Latency of the account history lookups as the table grows, next to the OR query they
+ * replaced. Skipped by default; run with
+ * mvn test -Dtest=TransactionLookupBenchmarkTest -Dbenchmark=true
+ * Absolute numbers come from the embedded database and only the trend is meaningful.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class TransactionLookupBenchmarkTest {
+
+    private static final int[] TABLE_SIZES = {10_000, 100_000, 1_000_000};
+    private static final int ROWS_PER_ACCOUNT = 200;
+    private static final int SAMPLES = 200;
+
+    @Autowired
+    private TransactionRepo transactionRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private void growTable(int fromRow, int toRow) {
+        // Every ROWS_PER_ACCOUNT consecutive rows share an account, alternately as sender and receiver
+        entityManager.createNativeQuery("INSERT INTO transactions (id, from_account_id, to_account_id, amount, status, created_at) "
+                + "SELECT RANDOM_UUID(), "
+                + "CASE WHEN MOD(X, 2) = 0 THEN CAST(LPAD(TO_CHAR(X / " + ROWS_PER_ACCOUNT + "), 32, '0') AS UUID) ELSE RANDOM_UUID() END, "
+                + "CASE WHEN MOD(X, 2) = 1 THEN CAST(LPAD(TO_CHAR(X / " + ROWS_PER_ACCOUNT + "), 32, '0') AS UUID) ELSE RANDOM_UUID() END, "
+                + "1, 'SUCCESS', DATEADD('SECOND', X, TIMESTAMP '2020-01-01 00:00:00') FROM SYSTEM_RANGE(:fromRow, :toRow)")
+                .setParameter("fromRow", fromRow)
+                .setParameter("toRow", toRow)
+                .executeUpdate();
+    }
+
+    private static UUID account(int index) {
+        return UUID.fromString(String.format("00000000-0000-0000-0000-%012d", index));
+    }
+
+    private double medianMicros(Supplier<?> lookup) {
+        for (int i = 0; i < SAMPLES; i++) {
+            lookup.get();
+            entityManager.clear();
+        }
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            lookup.get();
+            samples[i] = System.nanoTime() - start;
+            entityManager.clear();
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2] / 1000.0;
+    }
+
+    @Test
+    public void benchmarkHistoryLookups() {
+        System.out.printf("%12s %14s %14s %14s%n", "rows", "latest page", "latest one", "OR baseline");
+        int loaded = 0;
+        for (int size : TABLE_SIZES) {
+            growTable(loaded + 1, size);
+            loaded = size;
+            UUID accountId = account(size / ROWS_PER_ACCOUNT / 2);
+
+            double page = medianMicros(() -> transactionRepo.findLatestByAccountId(accountId, 21));
+            double one = medianMicros(() -> transactionRepo.findLatestOneByAccountId(accountId));
+            double baseline = medianMicros(() -> entityManager.createQuery(
+                            "SELECT t FROM TransactionModel t WHERE t.fromAccountId = :accountId OR t.toAccountId = :accountId "
+                                    + "ORDER BY t.createdAt DESC, t.id DESC", TransactionModel.class)
+                    .setParameter("accountId", accountId)
+                    .setMaxResults(21)
+                    .getResultList());
+
+            System.out.printf("%12d %12.1fus %12.1fus %12.1fus%n", size, page, one, baseline);
+        }
+    }
+}
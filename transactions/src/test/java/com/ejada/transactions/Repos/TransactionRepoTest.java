@@ -0,0 +1,120 @@
+package com.ejada.transactions.Repos;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.ejada.transactions.Models.TransactionModel;
+import com.ejada.transactions.Models.TransactionStatus;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+public class TransactionRepoTest {
+
+    @Autowired
+    private TransactionRepo transactionRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TransactionModel save(UUID fromAccountId, UUID toAccountId, int secondsAfterEpoch) {
+        TransactionModel transaction = new TransactionModel();
+        transaction.setFromAccountId(fromAccountId);
+        transaction.setToAccountId(toAccountId);
+        transaction.setAmount(BigDecimal.ONE);
+        transaction.setStatus(TransactionStatus.SUCCESS);
+        TransactionModel saved = transactionRepo.saveAndFlush(transaction);
+        // created_at is set by @CreationTimestamp; pin it so the ordering is deterministic
+        entityManager.createNativeQuery("UPDATE transactions SET created_at = :createdAt WHERE id = :id")
+                .setParameter("createdAt", Timestamp.from(Instant.ofEpochSecond(1_700_000_000L + secondsAfterEpoch)))
+                .setParameter("id", saved.getId())
+                .executeUpdate();
+        return saved;
+    }
+
+    @Test
+    public void testKeysetPages_WalkBothSidesNewestFirst() {
+        // Given
+        UUID accountId = UUID.randomUUID();
+        List<UUID> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            TransactionModel saved = i % 2 == 0
+                    ? save(accountId, UUID.randomUUID(), i)
+                    : save(UUID.randomUUID(), accountId, i);
+            expected.add(0, saved.getId());
+        }
+        save(UUID.randomUUID(), UUID.randomUUID(), 100);
+        entityManager.clear();
+
+        // When
+        List<TransactionModel> firstPage = transactionRepo.findLatestByAccountId(accountId, 4);
+        TransactionModel last = firstPage.get(3);
+        List<TransactionModel> secondPage = transactionRepo.findByAccountIdBefore(accountId, last.getCreatedAt(), last.getId(), 4);
+
+        // Then
+        List<UUID> walked = new ArrayList<>();
+        firstPage.forEach(transaction -> walked.add(transaction.getId()));
+        secondPage.forEach(transaction -> walked.add(transaction.getId()));
+        assertEquals(expected, walked);
+        assertEquals(expected.get(0), transactionRepo.findLatestOneByAccountId(accountId).getId());
+    }
+
+    @Test
+    public void testFindLatestByAccountIds_LimitsEachAccount() {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            save(first, UUID.randomUUID(), i);
+        }
+        save(first, second, 10);
+        entityManager.clear();
+
+        // When
+        List<TransactionModel> transactions = transactionRepo.findLatestByAccountIds(Set.of(first, second), 3);
+
+        // Then
+        long forFirst = transactions.stream().filter(t -> t.getFromAccountId().equals(first)).distinct().count();
+        assertEquals(3, forFirst);
+        assertTrue(transactions.stream().anyMatch(t -> t.getToAccountId().equals(second)));
+    }
+
+    // The plan of the repository's own query text, so a change to it is checked too
+    private String plan(String query, Timestamp createdAt) {
+        Query explain = entityManager.createNativeQuery("EXPLAIN " + query)
+                .setParameter("accountId", UUID.randomUUID());
+        if (query.contains(":limit")) {
+            explain.setParameter("limit", 20);
+        }
+        if (createdAt != null) {
+            explain.setParameter("createdAt", createdAt).setParameter("id", UUID.randomUUID());
+        }
+        return String.valueOf(explain.getSingleResult()).toUpperCase();
+    }
+
+    @Test
+    public void testHistoryLookups_UseAccountIndexes() {
+        // When
+        String firstPage = plan(TransactionRepo.LATEST_BY_ACCOUNT, null);
+        String nextPage = plan(TransactionRepo.BY_ACCOUNT_BEFORE, Timestamp.from(Instant.now()));
+        String export = plan(TransactionRepo.HISTORY_BY_ACCOUNT, null);
+
+        // Then
+        for (String plan : List.of(firstPage, nextPage, export)) {
+            assertTrue(plan.contains("IDX_TRANSACTIONS_FROM_ACCOUNT_CREATED"), plan);
+            assertTrue(plan.contains("IDX_TRANSACTIONS_TO_ACCOUNT_CREATED"), plan);
+        }
+    }
+}
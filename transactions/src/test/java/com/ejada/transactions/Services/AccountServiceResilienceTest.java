@@ -0,0 +1,211 @@
+package com.ejada.transactions.Services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.ejada.transactions.Controllers.TransactionController;
+import com.ejada.transactions.Services.impl.TransactionServiceImpl;
+import com.ejada.transactions.dto.TransactionRequest;
+import com.ejada.transactions.exception.GlobalExceptionHandler;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+@Import({TransactionServiceImpl.class, IdempotencyCache.class, TransferOutbox.class, AccountServiceResilienceTest.AccountServiceStub.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AccountServiceResilienceTest {
+
+    private static final AtomicInteger transferCalls = new AtomicInteger();
+    private static final AtomicInteger lookupCalls = new AtomicInteger();
+    private static volatile int transferStatus;
+    private static volatile Duration transferDelay;
+
+    // Local accounts service: PUT /transfer answers transferStatus after transferDelay, GET /{id} is always unavailable
+    private static final DisposableServer ACCOUNTS = HttpServer.create()
+            .port(0)
+            .route(routes -> routes
+                    .put("/transfer", (request, response) -> request.receive().then(Mono.defer(() -> {
+                        transferCalls.incrementAndGet();
+                        return response.status(transferStatus)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .sendString(Mono.just("{\"message\":\"Account updated successfully.\"}").delayElement(transferDelay))
+                                .then();
+                    })))
+                    .get("/{accountId}", (request, response) -> {
+                        lookupCalls.incrementAndGet();
+                        return response.status(503).sendString(Mono.just("{}"));
+                    }))
+            .bindNow();
+
+    // The production settings for accountService, scaled down so the tests run quickly
+    @TestConfiguration
+    static class AccountServiceStub {
+
+        @Bean
+        public WebClient webClientAccounts() {
+            return WebClient.builder()
+                    .baseUrl("http://localhost:" + ACCOUNTS.port())
+                    .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .build();
+        }
+
+        @Bean
+        public CircuitBreakerRegistry circuitBreakerRegistry() {
+            return CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                    .slidingWindowSize(4)
+                    .minimumNumberOfCalls(4)
+                    .failureRateThreshold(50)
+                    .waitDurationInOpenState(Duration.ofMinutes(1))
+                    .recordExceptions(WebClientResponseException.ServiceUnavailable.class)
+                    .build());
+        }
+
+        @Bean
+        public BulkheadRegistry bulkheadRegistry() {
+            return BulkheadRegistry.of(BulkheadConfig.custom()
+                    .maxConcurrentCalls(1)
+                    .maxWaitDuration(Duration.ZERO)
+                    .build());
+        }
+
+        @Bean
+        public RetryRegistry retryRegistry() {
+            return RetryRegistry.of(RetryConfig.custom()
+                    .maxAttempts(3)
+                    .waitDuration(Duration.ofMillis(10))
+                    .retryExceptions(WebClientResponseException.ServiceUnavailable.class)
+                    .build());
+        }
+    }
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @MockitoBean
+    private KafkaProducerService kafkaProducerService;
+
+    @MockitoBean
+    private KafkaTemplate<String, HashMap<String, Object>> kafkaTemplate;
+
+    @AfterAll
+    public static void stopAccountsStub() {
+        ACCOUNTS.disposeNow();
+    }
+
+    @BeforeEach
+    public void resetStub() {
+        transferCalls.set(0);
+        lookupCalls.set(0);
+        transferStatus = 200;
+        transferDelay = Duration.ZERO;
+        circuitBreakerRegistry.circuitBreaker("accountService").reset();
+    }
+
+    private static TransactionRequest request() {
+        return new TransactionRequest(UUID.randomUUID(), UUID.randomUUID(), BigDecimal.TEN, "rent");
+    }
+
+    private MockMvc mockMvc() {
+        TransactionController controller = new TransactionController();
+        ReflectionTestUtils.setField(controller, "transactionService", transactionService);
+        return MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    public void testTransfer_IsNotRetried() {
+        // Given
+        transferStatus = 503;
+
+        // When
+        assertThrows(RuntimeException.class, () -> transactionService.transfer(request(), null));
+        assertThrows(RuntimeException.class, () -> transactionService.initiateTransactionWithValidation(request()));
+
+        // Then
+        assertEquals(1, transferCalls.get(), "the transfer PUT must never be retried");
+        assertEquals(3, lookupCalls.get(), "the read-only lookup is retried up to max-attempts");
+    }
+
+    @Test
+    public void testCircuitBreaker_OpensAndFailsFast() {
+        // Given
+        transferStatus = 503;
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            assertThrows(RuntimeException.class, () -> transactionService.transfer(request(), null));
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakerRegistry.circuitBreaker("accountService").getState());
+        assertThrows(CallNotPermittedException.class, () -> transactionService.transfer(request(), null));
+        assertEquals(4, transferCalls.get(), "an open breaker must not reach the accounts service");
+    }
+
+    @Test
+    public void testBulkhead_FullReturns503() throws Exception {
+        // Given: one slow transfer holds the only bulkhead permit
+        MockMvc mockMvc = mockMvc();
+        transferDelay = Duration.ofSeconds(1);
+        CompletableFuture<?> slow = CompletableFuture.runAsync(() -> transactionService.transfer(request(), null));
+        while (transferCalls.get() == 0) {
+            Thread.sleep(5);
+        }
+
+        // When
+        mockMvc.perform(post("/transactions/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromAccountId\":\"" + UUID.randomUUID() + "\",\"toAccountId\":\"" + UUID.randomUUID()
+                                + "\",\"amount\":10}"))
+                .andExpect(status().isServiceUnavailable());
+
+        // Then
+        slow.get();
+        assertEquals(1, transferCalls.get());
+    }
+}
@@ -0,0 +1,94 @@
+package com.ejada.transactions.Services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.ejada.transactions.dto.TransactionExportFormat;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(TransactionExporter.class)
+public class TransactionExporterTest {
+
+    private static final int ROWS = 1_000_000;
+
+    @Autowired
+    private TransactionExporter transactionExporter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private void insertTransactions(UUID fromAccountId, UUID toAccountId, int count) {
+        entityManager.createNativeQuery("INSERT INTO transactions (id, from_account_id, to_account_id, amount, description, status, created_at) "
+                + "SELECT RANDOM_UUID(), :fromAccountId, :toAccountId, X, 'rent, \"March\"', 'SUCCESS', "
+                + "DATEADD('SECOND', X, TIMESTAMP '2020-01-01 00:00:00') FROM SYSTEM_RANGE(1, :count)")
+                .setParameter("fromAccountId", fromAccountId)
+                .setParameter("toAccountId", toAccountId)
+                .setParameter("count", count)
+                .executeUpdate();
+    }
+
+    @Test
+    public void testExport_StreamsMillionRowsWithoutRetainingEntities() throws Exception {
+        // Given
+        UUID accountId = UUID.randomUUID();
+        insertTransactions(accountId, UUID.randomUUID(), ROWS);
+        CountingOutputStream out = new CountingOutputStream();
+
+        // When
+        long rows = transactionExporter.export(accountId, TransactionExportFormat.NDJSON, out);
+
+        // Then
+        assertEquals(ROWS, rows);
+        assertEquals(ROWS, out.lines);
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount(),
+                "exported rows must not stay in the persistence context");
+    }
+
+    @Test
+    public void testExport_WritesCsvWithHeaderAndEscaping() throws Exception {
+        // Given
+        UUID accountId = UUID.randomUUID();
+        insertTransactions(UUID.randomUUID(), accountId, 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        transactionExporter.export(accountId, TransactionExportFormat.CSV, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,fromAccountId,toAccountId,amount,description,status,createdAt", lines[0]);
+        assertTrue(lines[1].contains(",2.0000,\"rent, \"\"March\"\"\",SUCCESS,"), lines[1]);
+    }
+
+    // Discards the export and only counts lines, so the test itself stays within a flat heap
+    private static class CountingOutputStream extends OutputStream {
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
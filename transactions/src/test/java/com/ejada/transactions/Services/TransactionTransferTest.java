@@ -0,0 +1,338 @@
+package com.ejada.transactions.Services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.ejada.transactions.Models.TransactionModel;
+import com.ejada.transactions.Models.TransactionStatus;
+import com.ejada.transactions.Repos.TransactionRepo;
+import com.ejada.transactions.Services.impl.TransactionServiceImpl;
+import com.ejada.transactions.dto.TransactionExecutionRequest;
+import com.ejada.transactions.dto.TransactionRequest;
+import com.ejada.transactions.dto.TransactionResponse;
+import com.ejada.transactions.exception.IdempotencyConflictException;
+import com.ejada.transactions.exception.TransactionExecutionException;
+import com.ejada.transactions.exception.TransferOutcomeUnknownException;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false",
+    "services.account.transfer-timeout=1s",
+    "transactions.transfer.reconcile-after=3s"
+})
+@Import({TransactionServiceImpl.class, IdempotencyCache.class, TransferOutbox.class, TransactionTransferTest.AccountServiceStub.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TransactionTransferTest {
+
+    // Stand-in for the network and the accounts service's own work on every call
+    private static final Duration ACCOUNT_SERVICE_LATENCY = Duration.ofMillis(2);
+    private static final BigDecimal AVAILABLE_BALANCE = new BigDecimal("1000");
+    private static final int SAMPLES = 500;
+
+    private static final AtomicInteger accountCalls = new AtomicInteger();
+    private static final AtomicInteger debits = new AtomicInteger();
+    private static final Set<String> appliedTransfers = ConcurrentHashMap.newKeySet();
+    private static volatile Duration stall = Duration.ZERO;
+
+    // Local accounts service: GET /{id} finds every account, PUT /transfer refuses more than AVAILABLE_BALANCE
+    // and applies each transaction ID once, answering stall later than usual
+    private static final DisposableServer ACCOUNTS = HttpServer.create()
+            .port(0)
+            .route(routes -> routes
+                    .put("/transfer", (request, response) -> request.receive().aggregate().asString().flatMap(body -> {
+                        accountCalls.incrementAndGet();
+                        boolean overdraft = new BigDecimal(body.replaceAll(".*\"amount\":([0-9.]+).*", "$1")).compareTo(AVAILABLE_BALANCE) > 0;
+                        if (!overdraft && appliedTransfers.add(body.replaceAll(".*\"transactionId\":\"([^\"]+)\".*", "$1"))) {
+                            debits.incrementAndGet();
+                        }
+                        String json = overdraft
+                                ? "{\"status\":400,\"message\":\"Insufficient funds. Available: 1000, Required: more\"}"
+                                : "{\"message\":\"Account updated successfully.\"}";
+                        return response.status(overdraft ? 400 : 200)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .sendString(Mono.just(json).delayElement(ACCOUNT_SERVICE_LATENCY.plus(stall)))
+                                .then();
+                    }))
+                    .get("/{accountId}", (request, response) -> {
+                        accountCalls.incrementAndGet();
+                        return response.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .sendString(Mono.just("{\"accountId\":\"" + request.param("accountId") + "\"}").delayElement(ACCOUNT_SERVICE_LATENCY));
+                    }))
+            .bindNow();
+
+    @TestConfiguration
+    static class AccountServiceStub {
+
+        @Bean
+        public WebClient webClientAccounts() {
+            return WebClient.builder()
+                    .baseUrl("http://localhost:" + ACCOUNTS.port())
+                    .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .build();
+        }
+
+        @Bean
+        public CircuitBreakerRegistry circuitBreakerRegistry() {
+            return CircuitBreakerRegistry.ofDefaults();
+        }
+
+        @Bean
+        public BulkheadRegistry bulkheadRegistry() {
+            return BulkheadRegistry.ofDefaults();
+        }
+
+        @Bean
+        public RetryRegistry retryRegistry() {
+            return RetryRegistry.ofDefaults();
+        }
+    }
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepo transactionRepo;
+
+    @MockitoBean
+    private KafkaProducerService kafkaProducerService;
+
+    @MockitoBean
+    private KafkaTemplate<String, HashMap<String, Object>> kafkaTemplate;
+
+    @AfterAll
+    public static void stopAccountsStub() {
+        ACCOUNTS.disposeNow();
+    }
+
+    @BeforeEach
+    public void resetCalls() {
+        accountCalls.set(0);
+        debits.set(0);
+        stall = Duration.ZERO;
+    }
+
+    private static TransactionRequest request(String amount) {
+        return new TransactionRequest(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal(amount), "rent");
+    }
+
+    @Test
+    public void testTransfer_CallsAccountServiceOnce() {
+        // When
+        TransactionResponse response = transactionService.transfer(request("25.50"), null);
+
+        // Then
+        assertEquals(TransactionStatus.SUCCESS, response.getStatus());
+        assertEquals(TransactionStatus.SUCCESS, transactionRepo.findById(response.getTransactionId()).orElseThrow().getStatus());
+        assertEquals(1, accountCalls.get());
+    }
+
+    @Test
+    public void testTransfer_RecordsFailure() {
+        // Given
+        long before = transactionRepo.count();
+
+        // When
+        TransactionExecutionException ex = assertThrows(TransactionExecutionException.class,
+                () -> transactionService.transfer(request("5000"), null));
+
+        // Then
+        assertEquals("Insufficient funds in source account", ex.getMessage());
+        assertEquals(before + 1, transactionRepo.count());
+        assertTrue(transactionRepo.findAll().stream().anyMatch(t -> t.getStatus() == TransactionStatus.FAILED));
+    }
+
+    @Test
+    public void testTransfer_ReplaysResultForSameIdempotencyKey() {
+        // Given
+        TransactionRequest request = request("10");
+        TransactionResponse first = transactionService.transfer(request, "transfer-key");
+
+        // When
+        TransactionResponse retry = transactionService.transfer(request, "transfer-key");
+
+        // Then
+        assertEquals(first.getTransactionId(), retry.getTransactionId());
+        assertEquals(1, accountCalls.get());
+    }
+
+    @Test
+    public void testTransfer_RejectsKeyReusedForDifferentRequest() {
+        // Given
+        transactionService.transfer(request("10"), "reused-key");
+
+        // When / Then
+        assertThrows(IdempotencyConflictException.class, () -> transactionService.transfer(request("10"), "reused-key"));
+        assertEquals(1, accountCalls.get());
+    }
+
+    @Test
+    public void testExecuteTransfer_RejectsKeyHeldByAnotherTransfer() {
+        // Given: the key is held by a submitted transfer, which is not in the result cache
+        transactionService.submitTransfer(request("10"), "submitted-key");
+        UUID transactionId = transactionService.initiateTransaction(request("10")).getTransactionId();
+
+        // When / Then
+        assertThrows(IdempotencyConflictException.class,
+                () -> transactionService.executeTransfer(new TransactionExecutionRequest(transactionId), "submitted-key"));
+        assertEquals(0, accountCalls.get());
+    }
+
+    @Test
+    public void testExecuteTransfer_FailedKeylessExecutionCanBeRetried() {
+        // Given: a keyless execution the accounts service refused
+        UUID transactionId = transactionService.initiateTransaction(request("5000")).getTransactionId();
+        TransactionExecutionRequest execution = new TransactionExecutionRequest(transactionId);
+        accountCalls.set(0);
+        assertThrows(TransactionExecutionException.class, () -> transactionService.executeTransfer(execution, null));
+
+        // When
+        TransactionExecutionException retry = assertThrows(TransactionExecutionException.class,
+                () -> transactionService.executeTransfer(execution, null));
+
+        // Then: the second execution was a new attempt, not a wait on the first one's claim
+        assertEquals("Insufficient funds in source account", retry.getMessage());
+        assertEquals(2, accountCalls.get());
+        TransactionModel failed = transactionRepo.findById(transactionId).orElseThrow();
+        assertEquals(TransactionStatus.FAILED, failed.getStatus());
+        assertNull(failed.getIdempotencyKey());
+    }
+
+    @Test
+    public void testSubmittedTransfer_CannotBeExecutedOrCancelled() {
+        // Given
+        UUID transactionId = transactionService.submitTransfer(request("10"), null).getTransactionId();
+
+        // When / Then
+        assertThrows(IdempotencyConflictException.class,
+                () -> transactionService.executeTransfer(new TransactionExecutionRequest(transactionId), null));
+        assertThrows(IdempotencyConflictException.class, () -> transactionService.cancelTransaction(transactionId));
+        assertEquals(TransactionStatus.PENDING, transactionRepo.findById(transactionId).orElseThrow().getStatus());
+        assertEquals(0, accountCalls.get());
+    }
+
+    @Test
+    public void testTransfer_TimeoutAfterCommit_RetryReconcilesWithoutSecondDebit() throws Exception {
+        // Given: the accounts service applies the transfer, then stalls past the response timeout
+        TransactionRequest request = request("10");
+        stall = Duration.ofSeconds(2);
+        assertThrows(TransferOutcomeUnknownException.class, () -> transactionService.transfer(request, "stalled-key"));
+        stall = Duration.ZERO;
+        TransactionModel pending = transactionRepo.findByIdempotencyKey("stalled-key").orElseThrow();
+        assertEquals(TransactionStatus.INITIATED, pending.getStatus());
+
+        // When: a retry inside reconcile-after is told to wait, a later one asks again under the same ID
+        assertThrows(IdempotencyConflictException.class, () -> transactionService.transfer(request, "stalled-key"));
+        Thread.sleep(Duration.ofSeconds(2).toMillis());
+        TransactionResponse retry = transactionService.transfer(request, "stalled-key");
+
+        // Then
+        assertEquals(pending.getId(), retry.getTransactionId());
+        assertEquals(TransactionStatus.SUCCESS, retry.getStatus());
+        assertEquals(2, accountCalls.get());
+        assertEquals(1, debits.get());
+    }
+
+    @Test
+    public void testExecuteTransfer_ConcurrentRetriesDebitOnce() throws Exception {
+        // Given
+        UUID transactionId = transactionService.initiateTransaction(request("10")).getTransactionId();
+        TransactionExecutionRequest execution = new TransactionExecutionRequest(transactionId);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<TransactionResponse>> attempts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            attempts.add(executor.submit(() -> transactionService.executeTransfer(execution, "execution-key")));
+        }
+        int succeeded = 0;
+        for (Future<TransactionResponse> attempt : attempts) {
+            try {
+                assertEquals(TransactionStatus.SUCCESS, attempt.get().getStatus());
+                succeeded++;
+            } catch (java.util.concurrent.ExecutionException e) {
+                // Retries that arrive while the first attempt is still running are told to come back
+                assertInstanceOf(IdempotencyConflictException.class, e.getCause());
+            }
+        }
+        executor.shutdown();
+        TransactionResponse replay = transactionService.executeTransfer(execution, "execution-key");
+
+        // Then
+        assertTrue(succeeded >= 1);
+        assertEquals(transactionId, replay.getTransactionId());
+        assertEquals(TransactionStatus.SUCCESS, replay.getStatus());
+        assertEquals(1, accountCalls.get());
+        assertThrows(TransactionExecutionException.class, () -> transactionService.executeTransfer(execution, null));
+    }
+
+    private static double medianMicros(Supplier<?> transfer) {
+        for (int i = 0; i < SAMPLES; i++) {
+            transfer.get();
+        }
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            transfer.get();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2] / 1000.0;
+    }
+
+    /**
+     * End-to-end latency of the two-phase initiate/execute API against the single transfer
+     * call, with every accounts service call costing ACCOUNT_SERVICE_LATENCY. Skipped by
+     * default; run with mvn test -Dtest=TransactionTransferTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void benchmarkTransferLatency() {
+        double twoPhase = medianMicros(() -> {
+            TransactionResponse initiated = transactionService.initiateTransactionWithValidation(request("1"));
+            return transactionService.executeTransfer(new TransactionExecutionRequest(initiated.getTransactionId()), null);
+        });
+        double single = medianMicros(() -> transactionService.transfer(request("1"), null));
+
+        System.out.printf("%-28s %10.1fus%n", "initiation + execution", twoPhase);
+        System.out.printf("%-28s %10.1fus%n", "transfer", single);
+        assertTrue(single < twoPhase, "single round trip should be faster");
+    }
+}
@@ -0,0 +1,70 @@
+package com.ejada.transactions.Services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ejada.transactions.Models.OutboxMessage;
+import com.ejada.transactions.Repos.OutboxRepo;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+@Import(TransferOutbox.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TransferOutboxTest {
+
+    @Autowired
+    private TransferOutbox transferOutbox;
+
+    @Autowired
+    private OutboxRepo outboxRepo;
+
+    @MockitoBean
+    private KafkaTemplate<String, HashMap<String, Object>> kafkaTemplate;
+
+    private OutboxMessage pending(String key) {
+        OutboxMessage message = new OutboxMessage();
+        message.setTopic(TransferOutbox.TRANSFER_COMMANDS_TOPIC);
+        message.setMessageKey(key);
+        message.setPayload("{\"fromAccountId\":\"" + key + "\"}");
+        return outboxRepo.saveAndFlush(message);
+    }
+
+    @Test
+    public void testRelay_KeepsEverythingFromTheFirstFailedSend() {
+        // Given: the second of three commands for one account is not acknowledged
+        OutboxMessage first = pending("account-1");
+        OutboxMessage second = pending("account-1");
+        OutboxMessage third = pending("account-1");
+        CompletableFuture<SendResult<String, HashMap<String, Object>>> acked = CompletableFuture.completedFuture(null);
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(acked, CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")), acked);
+
+        // When
+        transferOutbox.relay();
+
+        // Then: the third was acknowledged but stays queued behind the second
+        List<OutboxMessage> remaining = outboxRepo.findAll();
+        assertFalse(outboxRepo.existsById(first.getId()));
+        assertEquals(2, remaining.size());
+        assertTrue(outboxRepo.existsById(second.getId()));
+        assertTrue(outboxRepo.existsById(third.getId()));
+    }
+}
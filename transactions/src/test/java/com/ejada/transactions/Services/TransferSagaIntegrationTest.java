@@ -0,0 +1,114 @@
+package com.ejada.transactions.Services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import com.ejada.transactions.Models.TransactionStatus;
+import com.ejada.transactions.Repos.OutboxRepo;
+import com.ejada.transactions.Repos.TransactionRepo;
+import com.ejada.transactions.dto.TransactionRequest;
+import com.ejada.transactions.dto.TransactionResponse;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:saga",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false",
+    "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+    "transactions.outbox.poll-interval-ms=50"
+})
+@EmbeddedKafka(partitions = 1, topics = {"TransferCommands", "TransferResults"})
+public class TransferSagaIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepo transactionRepo;
+
+    @Autowired
+    private OutboxRepo outboxRepo;
+
+    @Autowired
+    private KafkaTemplate<String, HashMap<String, Object>> kafkaTemplate;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    private Consumer<String, HashMap<String, Object>> commandConsumer() {
+        Map<String, Object> props = KafkaTestUtils.consumerProps("accounts-stub", "false", embeddedKafka);
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, HashMap.class.getName());
+        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        Consumer<String, HashMap<String, Object>> consumer = new DefaultKafkaConsumerFactory<String, HashMap<String, Object>>(
+                props, new StringDeserializer(), new JsonDeserializer<>()).createConsumer();
+        embeddedKafka.consumeFromAnEmbeddedTopic(consumer, "TransferCommands");
+        return consumer;
+    }
+
+    private TransactionStatus awaitStatus(UUID transactionId, TransactionStatus expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+        TransactionStatus status = null;
+        while (System.nanoTime() < deadline) {
+            status = transactionRepo.findById(transactionId).orElseThrow().getStatus();
+            if (status == expected) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        return status;
+    }
+
+    private HashMap<String, Object> result(UUID transactionId, String status) {
+        HashMap<String, Object> result = new HashMap<>();
+        result.put("transactionId", transactionId.toString());
+        result.put("status", status);
+        return result;
+    }
+
+    @Test
+    public void testSubmitTransfer_CompletesThroughCommandAndResult() throws Exception {
+        // Given
+        UUID fromAccountId = UUID.randomUUID();
+        TransactionRequest request = new TransactionRequest(fromAccountId, UUID.randomUUID(), new BigDecimal("12.3456"), "rent");
+
+        try (Consumer<String, HashMap<String, Object>> accounts = commandConsumer()) {
+            // When
+            TransactionResponse accepted = transactionService.submitTransfer(request, "saga-key");
+            TransactionResponse retried = transactionService.submitTransfer(request, "saga-key");
+            ConsumerRecord<String, HashMap<String, Object>> command = KafkaTestUtils.getSingleRecord(accounts, "TransferCommands", Duration.ofSeconds(20));
+
+            // A duplicate result, as after an accounts restart, must be harmless
+            kafkaTemplate.send("TransferResults", command.value().get("transactionId").toString(), result(accepted.getTransactionId(), "SUCCESS"));
+            kafkaTemplate.send("TransferResults", command.value().get("transactionId").toString(), result(accepted.getTransactionId(), "FAILED"));
+
+            // Then
+            assertEquals(TransactionStatus.PENDING, accepted.getStatus());
+            assertEquals(accepted.getTransactionId(), retried.getTransactionId());
+            assertEquals(fromAccountId.toString(), command.key());
+            assertEquals(accepted.getTransactionId().toString(), command.value().get("transactionId"));
+            assertEquals("12.3456", command.value().get("amount"));
+            assertEquals(TransactionStatus.SUCCESS, awaitStatus(accepted.getTransactionId(), TransactionStatus.SUCCESS));
+            Thread.sleep(500);
+            assertEquals(TransactionStatus.SUCCESS, transactionRepo.findById(accepted.getTransactionId()).orElseThrow().getStatus());
+            assertEquals(List.of(), outboxRepo.findAll());
+        }
+    }
+}
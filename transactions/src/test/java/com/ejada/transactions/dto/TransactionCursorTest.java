@@ -0,0 +1,36 @@
+package com.ejada.transactions.dto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.ejada.transactions.exception.InvalidTransactionException;
+
+public class TransactionCursorTest {
+
+    @Test
+    public void testEncodeDecode_RoundTripsWithMicroseconds() {
+        // Given
+        Timestamp createdAt = Timestamp.from(Instant.parse("2025-03-01T10:15:30.123456Z"));
+        UUID id = UUID.randomUUID();
+
+        // When
+        String encoded = new TransactionCursor(createdAt, id).encode();
+        TransactionCursor decoded = TransactionCursor.decode(encoded);
+
+        // Then
+        assertEquals(createdAt, decoded.getCreatedAt());
+        assertEquals(id, decoded.getId());
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), "cursor should be URL safe");
+    }
+
+    @Test
+    public void testDecode_RejectsTamperedCursor() {
+        // When / Then
+        assertThrows(InvalidTransactionException.class, () -> TransactionCursor.decode("not-a-cursor"));
+    }
+}
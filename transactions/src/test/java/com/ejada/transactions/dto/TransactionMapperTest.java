@@ -0,0 +1,66 @@
+package com.ejada.transactions.dto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.ejada.transactions.Models.TransactionModel;
+import com.ejada.transactions.Models.TransactionStatus;
+
+public class TransactionMapperTest {
+
+    private TransactionModel transaction(UUID fromAccountId, UUID toAccountId, BigDecimal amount) {
+        TransactionModel transaction = new TransactionModel();
+        transaction.setId(UUID.randomUUID());
+        transaction.setFromAccountId(fromAccountId);
+        transaction.setToAccountId(toAccountId);
+        transaction.setAmount(amount);
+        transaction.setStatus(TransactionStatus.SUCCESS);
+        return transaction;
+    }
+
+    @Test
+    public void testToAccountTransactionsBatchResponse_GroupsByAccount() {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID external = UUID.randomUUID();
+        TransactionModel internalTransfer = transaction(first, second, new BigDecimal("25.00"));
+        TransactionModel incoming = transaction(external, first, new BigDecimal("10.00"));
+        Set<UUID> accountIds = new LinkedHashSet<>(Arrays.asList(first, second));
+
+        // When
+        AccountTransactionsBatchResponse response = TransactionMapper.toAccountTransactionsBatchResponse(
+                Arrays.asList(internalTransfer, incoming), accountIds);
+
+        // Then
+        List<AccountTransactionResponse> firstTransactions = response.getTransactionsByAccount().get(first);
+        List<AccountTransactionResponse> secondTransactions = response.getTransactionsByAccount().get(second);
+        assertEquals(2, firstTransactions.size());
+        assertEquals(new BigDecimal("-25.00"), firstTransactions.get(0).getAmount());
+        assertEquals(new BigDecimal("10.00"), firstTransactions.get(1).getAmount());
+        assertEquals(1, secondTransactions.size());
+        assertEquals(new BigDecimal("25.00"), secondTransactions.get(0).getAmount());
+        assertFalse(response.getTransactionsByAccount().containsKey(external));
+    }
+
+    @Test
+    public void testToAccountTransactionsBatchResponse_WithNoTransactions() {
+        // Given
+        UUID accountId = UUID.randomUUID();
+
+        // When
+        AccountTransactionsBatchResponse response = TransactionMapper.toAccountTransactionsBatchResponse(null, Set.of(accountId));
+
+        // Then
+        assertNotNull(response.getTransactionsByAccount().get(accountId));
+        assertTrue(response.getTransactionsByAccount().get(accountId).isEmpty());
+    }
+}